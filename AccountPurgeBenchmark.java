@@ -0,0 +1,114 @@
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *
+ * Times account deletion (UserRepository.purge) against account size.
+ *
+ * For each size N the benchmark builds an employer account with N job posts,
+ * each carrying APPLICANTS_PER_POST applications from other users, that has
+ * itself applied to N posts of another employer, and then times purging it.
+ * Each size is measured REPETITIONS times after one unmeasured warm-up.
+ *
+ * Usage: java AccountPurgeBenchmark [N ...] (default 10 100 1000)
+ *
+ * The engine is chosen with -Dgjms.storage exactly as for the application,
+ * defaulting to memory here. With jdbc the schema must already exist.
+ *
+ */
+
+public final class AccountPurgeBenchmark {
+
+    private static final int APPLICANTS_PER_POST = 3;
+
+    private static final int REPETITIONS = 5;
+
+    private static final LocalDate FAR_DEADLINE = LocalDate.of(2099, 12, 31);
+
+    private AccountPurgeBenchmark() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+
+        if (System.getProperty("gjms.storage") == null) {
+            System.setProperty("gjms.storage", "memory");
+        }
+
+        List<Integer> sizes = new ArrayList<>();
+        for (String arg : args) {
+            sizes.add(Integer.parseInt(arg));
+        }
+        if (sizes.isEmpty()) {
+            sizes = List.of(10, 100, 1_000);
+        }
+
+        try (JobExpiryScheduler expiry = new JobExpiryScheduler(); Storage storage = GJMS2.createStorage(expiry)) {
+            storage.start();
+
+            String run = Long.toString(System.currentTimeMillis(), 36);
+            String otherEmployer = "bench_other_" + run;
+            storage.users().create(otherEmployer, "benchmark");
+
+            System.out.printf("%-8s %-10s %12s %12s %14s%n", "N", "rows", "median ms", "max ms", "rows/s");
+
+            int account = 0;
+            for (int size : sizes) {
+                // One warm-up, then the measured repetitions
+                measure(storage, "bench_" + run + "_" + account++, otherEmployer, size);
+
+                List<Double> millis = new ArrayList<>();
+                for (int rep = 0; rep < REPETITIONS; rep++) {
+                    millis.add(measure(storage, "bench_" + run + "_" + account++, otherEmployer, size));
+                }
+                Collections.sort(millis);
+
+                long rows = (long) size * (2 + APPLICANTS_PER_POST) + 1;
+                double median = millis.get(millis.size() / 2);
+                System.out.printf("%-8d %-10d %12.2f %12.2f %14.0f%n", size, rows, median,
+                        millis.get(millis.size() - 1), rows / (median / 1000));
+            }
+
+            storage.users().purge(otherEmployer);
+            for (int i = 0; i < APPLICANTS_PER_POST; i++) {
+                storage.users().purge(otherEmployer + "_applicant" + i);
+            }
+
+            if (Boolean.getBoolean("gjms.stats")) {
+                System.out.println("[gjms] " + storage.statistics());
+            }
+        }
+    }
+
+    /**
+     *
+     * Builds one account of the given size and returns how long purging it took.
+     *
+     */
+
+    private static double measure(Storage storage, String username, String otherEmployer, int size)
+            throws SQLException {
+
+        storage.users().create(username, "benchmark");
+
+        for (int i = 0; i < size; i++) {
+            JobPost own = storage.jobPosts().create(JobPost.draft("Benchmark job " + i, "Description", "Employer",
+                    "Skills", "Location", "000", FAR_DEADLINE, username));
+            for (int a = 0; a < APPLICANTS_PER_POST; a++) {
+                storage.applications().upsert(new JobApplication(own.id(), otherEmployer + "_applicant" + a,
+                        "Applicant", 30, "000", "a@example.com", "Skills", null));
+            }
+
+            JobPost other = storage.jobPosts().create(JobPost.draft("Other job " + i, "Description", "Employer",
+                    "Skills", "Location", "000", FAR_DEADLINE, otherEmployer));
+            storage.applications().upsert(new JobApplication(other.id(), username, "Employer", 40, "000",
+                    "e@example.com", "Skills", null));
+        }
+
+        long start = System.nanoTime();
+        storage.users().purge(username);
+        return (System.nanoTime() - start) / 1e6;
+    }
+}
@@ -0,0 +1,107 @@
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Keeps job_posts.application_count in step with job_applications.
+ *
+ * The counter is maintained transactionally by the GUI handlers; this job only
+ * repairs drift left behind by writes from outside the application (manual
+ * SQL, older clients). It walks job_posts in id ranges so no single statement
+ * holds row locks on the whole table.
+ *
+ */
+
+public final class ApplicationCountReconciler implements AutoCloseable {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    private final DataSource dataSource;
+
+    private final SqlDialect dialect;
+
+    private final ScheduledExecutorService scheduler;
+
+    public ApplicationCountReconciler(DataSource dataSource, SqlDialect dialect) {
+
+        this.dataSource = dataSource;
+        this.dialect = dialect;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gjms-count-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     *
+     * Schedules a reconcile pass every intervalMillis. The first pass is left to
+     * the caller (see GJMS2.main) so it can run before the startup checks.
+     *
+     */
+
+    public void start(long intervalMillis) {
+
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int repaired = reconcile();
+                if (repaired > 0) {
+                    System.err.println("[gjms] Repaired application_count on " + repaired + " job post(s).");
+                }
+            } catch (SQLException e) {
+                e.printStackTrace(); // Retry on the next run
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *
+     * Recomputes the counter for every job post whose stored value is wrong.
+     *
+     * @return the number of job posts that were repaired.
+     *
+     */
+
+    public int reconcile() throws SQLException {
+
+        try (Connection conn = dataSource.getConnection()) {
+
+            long minId;
+            long maxId;
+
+            try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.JOB_POST_ID_RANGE));
+                    ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                minId = rs.getLong(1);
+                maxId = rs.getLong(2);
+                if (rs.wasNull()) {
+                    return 0; // No job posts yet
+                }
+            }
+
+            int repaired = 0;
+
+            try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.REPAIR_APPLICATION_COUNTS))) {
+                for (long from = minId; from <= maxId; from += CHUNK_SIZE) {
+                    pstmt.setLong(1, from);
+                    pstmt.setLong(2, from + CHUNK_SIZE - 1);
+                    repaired += pstmt.executeUpdate();
+                }
+            }
+
+            return repaired;
+        }
+    }
+
+    @Override
+    public void close() {
+
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,78 @@
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ *
+ * Access to job applications. Every write keeps the parent post's
+ * applicationCount exact.
+ *
+ */
+
+public interface ApplicationRepository {
+
+    IntHashSet findAppliedJobIds(String username) throws SQLException;
+
+    Optional<JobApplication> find(String username, int jobId) throws SQLException;
+
+    List<JobApplication> findByJob(int jobId) throws SQLException;
+
+    List<AppliedJob> findByApplicant(String username) throws SQLException;
+
+    /**
+     *
+     * Inserts the application, or replaces the user's existing one for that job.
+     *
+     * @return false if the job post no longer exists.
+     *
+     */
+
+    boolean upsert(JobApplication application) throws SQLException;
+
+    /**
+     *
+     * @return false if the user had no application for that job.
+     *
+     */
+
+    boolean delete(int jobId, String username) throws SQLException;
+
+    /**
+     *
+     * True if upsert only queues the application and writes it later (see
+     * {@link ApplicationWriteBehind}); what became of it is then reported to the
+     * listeners added with {@link #addSaveListener}.
+     *
+     */
+
+    default boolean savesLater() {
+
+        return false;
+    }
+
+    default void addSaveListener(SaveListener listener) {
+
+        // upsert has written the row by the time it returns; nothing is reported later
+    }
+
+    /**
+     *
+     * Told the outcome of each application queued by upsert, on the thread
+     * that wrote it.
+     *
+     */
+
+    interface SaveListener {
+
+        void saved(JobApplication application);
+
+        /**
+         *
+         * The application was not saved and will not be retried: its post was
+         * deleted, or the database refused the row for the given reason.
+         *
+         */
+
+        void rejected(JobApplication application, String reason);
+    }
+}
@@ -0,0 +1,857 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ *
+ * Write-behind queue for application upserts, layered over another
+ * {@link ApplicationRepository}.
+ *
+ * An upsert is appended to an on-disk journal (and forced to disk) before it
+ * is acknowledged, then held in memory keyed by (job id, username) so repeated
+ * submissions of the same form collapse into one row. A flusher thread hands
+ * the pending set to a {@link BatchWriter} as one batch when it reaches
+ * batchSize or its oldest entry is maxDelayMillis old.
+ *
+ * The journal is split into numbered segments. Taking a batch starts a new
+ * segment, and segments are deleted only after their batch commits, so
+ * anything acknowledged survives a crash and is replayed on the next start.
+ *
+ * Reads that the submitting user expects to see at once (applied job ids,
+ * their own application) are answered from the queue; reads across users and
+ * deletes flush the queue first.
+ *
+ * Fields longer than their columns are refused before anything is queued. If
+ * the database still refuses a batch because of its data (SQLState class 22
+ * or 23), the batch is written again one row at a time: the good rows are
+ * saved and each refused one is appended to rejected-applications.journal (in
+ * the journal's record layout) instead of holding up the queue. Listeners
+ * added with {@link #addSaveListener} hear what became of every application.
+ *
+ */
+
+public final class ApplicationWriteBehind implements ApplicationRepository, AutoCloseable {
+
+    /**
+     *
+     * Persists one batch in a single transaction. Applications whose job post
+     * no longer exists are skipped.
+     *
+     * @return the ids of the posts whose applications were skipped.
+     *
+     */
+
+    @FunctionalInterface
+    public interface BatchWriter {
+
+        IntHashSet write(Collection<JobApplication> applications) throws SQLException;
+    }
+
+    private record Key(int jobId, String username) {
+    }
+
+    private record Batch(List<JobApplication> applications, long lastSegment) {
+    }
+
+    private static final String SEGMENT_PREFIX = "applications-";
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final String REJECTED_FILE = "rejected-applications.journal";
+
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ApplicationRepository delegate;
+
+    private final BatchWriter writer;
+
+    private final Path directory;
+
+    private final int batchSize;
+
+    private final long maxDelayNanos;
+
+    private final Thread flusher;
+
+    private final List<SaveListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guards pending, the journal and the counters below
+    private final Object lock = new Object();
+
+    // Held for the whole of take-and-write, so batches reach the database in order
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private LinkedHashMap<Key, JobApplication> pending = new LinkedHashMap<>();
+
+    // The batch being written, still visible to reads until it commits
+    private Map<Key, JobApplication> inFlight = Map.of();
+
+    private long oldestPendingNanos;
+
+    private long retryAfterNanos;
+
+    private FileChannel journal;
+
+    private long segment;
+
+    private boolean closed;
+
+    private long accepted;
+
+    private long coalesced;
+
+    private long flushes;
+
+    private long flushedRows;
+
+    private long skipped;
+
+    private long rejected;
+
+    private long failures;
+
+    private long totalFlushNanos;
+
+    private long maxFlushNanos;
+
+    private long lastFlushNanos;
+
+    public ApplicationWriteBehind(ApplicationRepository delegate, BatchWriter writer, Path directory, int batchSize,
+            long maxDelayMillis) throws IOException {
+
+        this.delegate = delegate;
+        this.writer = writer;
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+
+        Files.createDirectories(directory);
+        recover();
+
+        this.flusher = new Thread(this::runFlusher, "gjms-application-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     *
+     * Reads -Dgjms.writeBehind.dir (default ./gjms_journal),
+     * -Dgjms.writeBehind.batchSize (default 200) and
+     * -Dgjms.writeBehind.maxDelayMs (default 250).
+     *
+     */
+
+    public static ApplicationWriteBehind fromSystemProperties(ApplicationRepository delegate, BatchWriter writer)
+            throws IOException {
+
+        return new ApplicationWriteBehind(delegate, writer,
+                Path.of(System.getProperty("gjms.writeBehind.dir", "./gjms_journal")),
+                Math.max(1, Integer.getInteger("gjms.writeBehind.batchSize", 200)),
+                Math.max(1, Long.getLong("gjms.writeBehind.maxDelayMs", 250L)));
+    }
+
+    // =========================================================================================
+
+    // REPOSITORY
+
+    // =========================================================================================
+
+    /**
+     *
+     * Journals and queues the application. Always returns true: a post deleted
+     * before the flush simply has the application dropped, and the listeners
+     * are told.
+     *
+     * @throws SQLDataException if a field is longer than its column.
+     *
+     */
+
+    @Override
+    public boolean upsert(JobApplication application) throws SQLException {
+
+        String problem = columnProblem(application);
+        if (problem != null) {
+            throw new SQLDataException(problem, "22001");
+        }
+
+        ByteBuffer record = encode(application);
+
+        synchronized (lock) {
+            if (closed) {
+                throw new SQLException("Application queue is closed");
+            }
+
+            try {
+                while (record.hasRemaining()) {
+                    journal.write(record);
+                }
+                journal.force(false);
+            } catch (IOException e) {
+                throw new SQLException("Could not journal application: " + e.getMessage(), e);
+            }
+
+            boolean wasEmpty = pending.isEmpty();
+            if (wasEmpty) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            if (pending.put(key(application.jobId(), application.username()), application) != null) {
+                coalesced++;
+            }
+            accepted++;
+
+            // Wake the flusher to start the latency timer, or because the batch is full
+            if (wasEmpty || pending.size() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean savesLater() {
+
+        return true;
+    }
+
+    @Override
+    public void addSaveListener(SaveListener listener) {
+
+        listeners.add(listener);
+    }
+
+    @Override
+    public IntHashSet findAppliedJobIds(String username) throws SQLException {
+
+        IntHashSet ids = delegate.findAppliedJobIds(username);
+        String userKey = username.toLowerCase(Locale.ROOT);
+
+        synchronized (lock) {
+            for (Key key : pending.keySet()) {
+                if (key.username().equals(userKey)) {
+                    ids.add(key.jobId());
+                }
+            }
+            for (Key key : inFlight.keySet()) {
+                if (key.username().equals(userKey)) {
+                    ids.add(key.jobId());
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    @Override
+    public Optional<JobApplication> find(String username, int jobId) throws SQLException {
+
+        synchronized (lock) {
+            Key key = key(jobId, username);
+            JobApplication queued = pending.containsKey(key) ? pending.get(key) : inFlight.get(key);
+            if (queued != null) {
+                return Optional.of(queued);
+            }
+        }
+
+        return delegate.find(username, jobId);
+    }
+
+    @Override
+    public List<JobApplication> findByJob(int jobId) throws SQLException {
+
+        flush();
+        return delegate.findByJob(jobId);
+    }
+
+    @Override
+    public List<AppliedJob> findByApplicant(String username) throws SQLException {
+
+        flush();
+        return delegate.findByApplicant(username);
+    }
+
+    @Override
+    public boolean delete(int jobId, String username) throws SQLException {
+
+        flush(); // Otherwise a queued upsert would bring the application back
+        return delegate.delete(jobId, username);
+    }
+
+    // =========================================================================================
+
+    // FLUSHING
+
+    // =========================================================================================
+
+    /**
+     *
+     * Writes everything queued so far and waits for it to commit.
+     *
+     */
+
+    public void flush() throws SQLException {
+
+        flushLock.lock();
+        try {
+            Batch batch;
+            synchronized (lock) {
+                batch = takeBatchLocked();
+            }
+            if (batch != null) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+
+        while (true) {
+            synchronized (lock) {
+                try {
+                    while (!closed && !isDueLocked()) {
+                        lock.wait(waitMillisLocked());
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+            }
+
+            try {
+                flush();
+            } catch (SQLException e) {
+                System.err.println("[gjms] Application flush failed, will retry: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean isDueLocked() {
+
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        if (now - retryAfterNanos < 0) {
+            return false;
+        }
+
+        return pending.size() >= batchSize || now - oldestPendingNanos >= maxDelayNanos;
+    }
+
+    private long waitMillisLocked() {
+
+        if (pending.isEmpty()) {
+            return 0; // Until notified
+        }
+
+        long now = System.nanoTime();
+        long dueAt = Math.max(oldestPendingNanos + maxDelayNanos, retryAfterNanos);
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(dueAt - now));
+    }
+
+    /**
+     *
+     * Detaches the pending set and starts a new journal segment for whatever
+     * arrives next.
+     *
+     */
+
+    private Batch takeBatchLocked() throws SQLException {
+
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        Batch batch = new Batch(new ArrayList<>(pending.values()), segment);
+        inFlight = pending;
+        pending = new LinkedHashMap<>();
+
+        try {
+            openSegmentLocked(segment + 1);
+        } catch (IOException e) {
+            inFlight = Map.of();
+            restoreLocked(batch.applications());
+            throw new SQLException("Could not start a new journal segment: " + e.getMessage(), e);
+        }
+
+        return batch;
+    }
+
+    private void write(Batch batch) throws SQLException {
+
+        long start = System.nanoTime();
+        List<JobApplication> applications = batch.applications();
+        IntHashSet gonePosts;
+        Map<Key, String> refused = new LinkedHashMap<>();
+
+        try {
+            gonePosts = writer.write(applications);
+        } catch (SQLException | RuntimeException e) {
+            if (!isRefusal(e)) {
+                retryLater(applications);
+                throw e;
+            }
+
+            // A row is bad in itself and would fail every retry: write the rows one at
+            // a time so the others get through, and set the refused ones aside
+            gonePosts = new IntHashSet();
+            for (int i = 0; i < applications.size(); i++) {
+                JobApplication application = applications.get(i);
+                try {
+                    if (!writer.write(List.of(application)).isEmpty()) {
+                        gonePosts.add(application.jobId());
+                    }
+                } catch (SQLException | RuntimeException rowError) {
+                    if (!isRefusal(rowError)) {
+                        retryLater(applications.subList(i, applications.size()));
+                        report(applications.subList(0, i), gonePosts, refused);
+                        throw rowError;
+                    }
+                    refused.put(key(application.jobId(), application.username()), rowError.getMessage());
+                    reject(application, rowError.getMessage());
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        deleteSegmentsUpTo(batch.lastSegment());
+
+        synchronized (lock) {
+            inFlight = Map.of();
+            flushes++;
+            totalFlushNanos += elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            lastFlushNanos = elapsed;
+        }
+
+        report(applications, gonePosts, refused);
+    }
+
+    /**
+     *
+     * Puts the unwritten rows of a failed batch back to be retried after
+     * RETRY_DELAY_NANOS.
+     *
+     */
+
+    private void retryLater(List<JobApplication> applications) {
+
+        synchronized (lock) {
+            inFlight = Map.of();
+            failures++;
+            retryAfterNanos = System.nanoTime() + RETRY_DELAY_NANOS;
+            restoreLocked(applications);
+        }
+    }
+
+    /**
+     *
+     * Puts applications back in the queue. Entries queued since they were
+     * taken are newer and win; their journal segments are still on disk.
+     *
+     */
+
+    private void restoreLocked(List<JobApplication> applications) {
+
+        LinkedHashMap<Key, JobApplication> merged = new LinkedHashMap<>();
+        for (JobApplication application : applications) {
+            merged.put(key(application.jobId(), application.username()), application);
+        }
+        merged.putAll(pending);
+
+        pending = merged;
+        oldestPendingNanos = System.nanoTime();
+    }
+
+    /**
+     *
+     * Counts the outcome of written applications and tells the listeners.
+     * refused maps the rows the database refused to its reason.
+     *
+     */
+
+    private void report(List<JobApplication> applications, IntHashSet gonePosts, Map<Key, String> refused) {
+
+        int gone = 0;
+        for (JobApplication application : applications) {
+            if (gonePosts.contains(application.jobId())) {
+                gone++;
+            }
+        }
+
+        synchronized (lock) {
+            flushedRows += applications.size() - gone - refused.size();
+            skipped += gone;
+        }
+
+        for (JobApplication application : applications) {
+            String reason = refused.get(key(application.jobId(), application.username()));
+            for (SaveListener listener : listeners) {
+                try {
+                    if (reason != null) {
+                        listener.rejected(application, reason);
+                    } else if (gonePosts.contains(application.jobId())) {
+                        listener.rejected(application, "The job post no longer exists.");
+                    } else {
+                        listener.saved(application);
+                    }
+                } catch (RuntimeException e) {
+                    e.printStackTrace(); // A failing listener must not stall the queue
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * True if the database refused the data itself (SQLState class 22, data
+     * exception, or 23, constraint violation) rather than failing to run the
+     * write, so writing the same row again can only fail again.
+     *
+     */
+
+    static boolean isRefusal(Exception e) {
+
+        Throwable cause = e;
+        for (int depth = 0; cause != null && depth < 8; depth++) {
+            if (cause instanceof SQLDataException || cause instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql) {
+                String state = sql.getSQLState();
+                if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                    return true;
+                }
+                cause = sql.getNextException() != null ? sql.getNextException() : sql.getCause();
+            } else {
+                cause = cause.getCause();
+            }
+        }
+        return false;
+    }
+
+    /**
+     *
+     * Why application does not fit the job_applications columns, or null if
+     * it does. Lengths are counted in UTF-16 units, which is never less than
+     * the characters a VARCHAR counts.
+     *
+     */
+
+    static String columnProblem(JobApplication application) {
+
+        if (application.username().length() > SqlDialect.USERNAME_LENGTH) {
+            return "The username is longer than " + SqlDialect.USERNAME_LENGTH + " characters.";
+        }
+        if (application.fullName().length() > SqlDialect.FULL_NAME_LENGTH) {
+            return "The full name is longer than " + SqlDialect.FULL_NAME_LENGTH + " characters.";
+        }
+        if (application.contactNumber().length() > SqlDialect.CONTACT_NUMBER_LENGTH) {
+            return "The contact number is longer than " + SqlDialect.CONTACT_NUMBER_LENGTH + " characters.";
+        }
+        if (application.email().length() > SqlDialect.EMAIL_LENGTH) {
+            return "The email is longer than " + SqlDialect.EMAIL_LENGTH + " characters.";
+        }
+        if (application.educationSkills().getBytes(StandardCharsets.UTF_8).length > SqlDialect.TEXT_BYTES) {
+            return "The education and skills text is longer than " + SqlDialect.TEXT_BYTES + " bytes.";
+        }
+        return null;
+    }
+
+    public WriteBehindStats stats() {
+
+        synchronized (lock) {
+            return new WriteBehindStats(pending.size(), accepted, coalesced, flushes, flushedRows, skipped, rejected,
+                    failures,
+                    flushes == 0 ? 0 : totalFlushNanos / 1e6 / flushes, maxFlushNanos / 1e6, lastFlushNanos / 1e6);
+        }
+    }
+
+    /**
+     *
+     * Stops the flusher, makes a last attempt to write the queue and closes the
+     * journal. Anything that could not be written is replayed on the next start.
+     *
+     */
+
+    @Override
+    public void close() {
+
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+
+        flusher.interrupt();
+
+        try {
+            flush();
+        } catch (SQLException e) {
+            System.err.println("[gjms] Applications left in the journal for the next start: " + e.getMessage());
+        }
+
+        synchronized (lock) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // =========================================================================================
+
+    // JOURNAL
+
+    // =========================================================================================
+
+    private static Key key(int jobId, String username) {
+
+        return new Key(jobId, username.toLowerCase(Locale.ROOT));
+    }
+
+    private Path segmentPath(long number) {
+
+        return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private void openSegmentLocked(long number) throws IOException {
+
+        FileChannel next = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+
+        if (journal != null) {
+            journal.close();
+        }
+
+        journal = next;
+        segment = number;
+    }
+
+    /**
+     *
+     * Appends a refused application to the rejected file, where it can be
+     * corrected and replayed by hand, instead of the queue.
+     *
+     */
+
+    private void reject(JobApplication application, String reason) {
+
+        synchronized (lock) {
+            rejected++;
+        }
+        System.err.println("[gjms] Application of " + application.username() + " to job " + application.jobId()
+                + " refused, moved to " + REJECTED_FILE + ": " + reason);
+
+        try (FileChannel out = FileChannel.open(directory.resolve(REJECTED_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer record = encode(application);
+            while (record.hasRemaining()) {
+                out.write(record);
+            }
+            out.force(false);
+        } catch (IOException | SQLException e) {
+            e.printStackTrace(); // It stays in its journal segment until that is deleted
+        }
+    }
+
+    private void deleteSegmentsUpTo(long lastSegment) {
+
+        for (long number : listSegments().keySet()) {
+            if (number <= lastSegment) {
+                try {
+                    Files.deleteIfExists(segmentPath(number));
+                } catch (IOException e) {
+                    e.printStackTrace(); // Harmless: replaying it later only re-applies the same rows
+                }
+            }
+        }
+    }
+
+    private TreeMap<Long, Path> listSegments() {
+
+        TreeMap<Long, Path> segments = new TreeMap<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return segments;
+    }
+
+    /**
+     *
+     * Replays every segment left by a previous run into the queue (later
+     * records win) and opens a fresh segment after them.
+     *
+     */
+
+    private void recover() throws IOException {
+
+        TreeMap<Long, Path> segments = listSegments();
+
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(entry.getValue()));
+            JobApplication application;
+            while ((application = decode(buffer)) != null) {
+                String problem = columnProblem(application); // Journaled before lengths were checked
+                if (problem != null) {
+                    reject(application, problem);
+                } else {
+                    pending.put(key(application.jobId(), application.username()), application);
+                }
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            oldestPendingNanos = System.nanoTime();
+            System.err.println("[gjms] Replaying " + pending.size() + " journaled application(s).");
+        }
+
+        openSegmentLocked(segments.isEmpty() ? 1 : segments.lastKey() + 1);
+
+        if (pending.isEmpty()) {
+            deleteSegmentsUpTo(segment - 1);
+        }
+    }
+
+    /**
+     *
+     * Record layout: payload length (int), CRC32 of the payload (long), payload.
+     *
+     */
+
+    private static ByteBuffer encode(JobApplication application) throws SQLException {
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(application.jobId());
+            writeString(out, application.username());
+            writeString(out, application.fullName());
+            out.writeInt(application.age());
+            writeString(out, application.contactNumber());
+            writeString(out, application.email());
+            writeString(out, application.educationSkills());
+            out.flush();
+
+            byte[] payload = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + payload.length);
+            record.putInt(payload.length).putLong(crc.getValue()).put(payload).flip();
+            return record;
+        } catch (IOException e) {
+            throw new SQLException("Could not encode application", e); // Not expected for an in-memory stream
+        }
+    }
+
+    /**
+     *
+     * Returns the next record, or null at the end of the segment or at a torn
+     * write left by a crash.
+     *
+     */
+
+    private static JobApplication decode(ByteBuffer buffer) {
+
+        if (buffer.remaining() < Integer.BYTES + Long.BYTES) {
+            return null;
+        }
+
+        int length = buffer.getInt();
+        long expectedCrc = buffer.getLong();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() != expectedCrc) {
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        int jobId = in.getInt();
+        String username = readString(in);
+        String fullName = readString(in);
+        int age = in.getInt();
+        String contactNumber = readString(in);
+        String email = readString(in);
+        String educationSkills = readString(in);
+
+        return new JobApplication(jobId, username, fullName, age, contactNumber, email, educationSkills, null);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public record WriteBehindStats(int depth, long accepted, long coalesced, long flushes, long flushedRows,
+            long skipped, long rejected, long failures, double avgFlushMillis, double maxFlushMillis,
+            double lastFlushMillis) {
+
+        @Override
+        public String toString() {
+
+            return String.format("depth=%d, accepted=%d, coalesced=%d, flushes=%d, flushedRows=%d, skipped=%d, "
+                    + "rejected=%d, failures=%d, avgFlush=%.3f ms, maxFlush=%.3f ms, lastFlush=%.3f ms",
+                    depth, accepted, coalesced, flushes, flushedRows, skipped, rejected, failures, avgFlushMillis,
+                    maxFlushMillis, lastFlushMillis);
+        }
+    }
+}
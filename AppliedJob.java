@@ -0,0 +1,9 @@
+/**
+ *
+ * A user's application together with the title and employer of the job it
+ * was made for, as listed on the View Applied Jobs screen.
+ *
+ */
+
+public record AppliedJob(JobApplication application, String jobTitle, String employerName) {
+}
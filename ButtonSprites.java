@@ -0,0 +1,127 @@
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *
+ * Pre-rendered rounded button surfaces (fill plus border) for the styled
+ * buttons and the APPLY cells of the job list.
+ *
+ * Antialiased round rectangles are slow to rasterize, and a scrolling table
+ * paints one per visible row on every frame, although only a handful of
+ * distinct surfaces exist: one per button size, state colour and border
+ * colour. Each is drawn once into a compatible translucent image at the
+ * screen's scale and afterwards only copied. A resized button simply asks for
+ * a new size; the least recently used sprites beyond MAX_SPRITES are dropped,
+ * and {@link #clear} empties the cache when the look and feel changes.
+ *
+ * Only used from the Event Dispatch Thread, like all painting.
+ *
+ */
+
+final class ButtonSprites {
+
+    private static final int MAX_SPRITES = 64;
+
+    private record Key(int width, int height, double scaleX, double scaleY, int surface, int border, int radius) {
+    }
+
+    private static final Map<Key, BufferedImage> SPRITES = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+
+            return size() > MAX_SPRITES;
+        }
+    };
+
+    private static long hits;
+
+    private static long misses;
+
+    private ButtonSprites() {
+    }
+
+    /**
+     *
+     * Paints a width x height rounded surface with a 2-pixel border at 0,0.
+     *
+     */
+
+    static void paint(Graphics2D g, int width, int height, Color surface, Color border, int radius) {
+
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        AffineTransform transform = g.getTransform();
+        Key key = new Key(width, height, transform.getScaleX(), transform.getScaleY(), surface.getRGB(),
+                border.getRGB(), radius);
+
+        BufferedImage sprite = SPRITES.get(key);
+        if (sprite == null) {
+            misses++;
+            sprite = render(g.getDeviceConfiguration(), key);
+            SPRITES.put(key, sprite);
+        } else {
+            hits++;
+        }
+
+        g.drawImage(sprite, 0, 0, width, height, null);
+    }
+
+    static void clear() {
+
+        SPRITES.clear();
+    }
+
+    private static BufferedImage render(GraphicsConfiguration device, Key key) {
+
+        // Rendered at device resolution so HiDPI screens still get crisp corners
+        int pixelWidth = Math.max(1, (int) Math.ceil(key.width() * key.scaleX()));
+        int pixelHeight = Math.max(1, (int) Math.ceil(key.height() * key.scaleY()));
+
+        BufferedImage image = device != null
+                ? device.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setComposite(AlphaComposite.Src);
+            g2.scale(key.scaleX(), key.scaleY());
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            g2.setColor(new Color(key.surface(), true));
+            g2.fillRoundRect(0, 0, key.width(), key.height(), key.radius(), key.radius());
+
+            g2.setComposite(AlphaComposite.SrcOver);
+            g2.setColor(new Color(key.border(), true));
+            g2.setStroke(new BasicStroke(2));
+            g2.drawRoundRect(0, 0, key.width() - 1, key.height() - 1, key.radius(), key.radius());
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+
+    /**
+     *
+     * Summary line for statistics output.
+     *
+     */
+
+    static String statistics() {
+
+        return "sprites=" + SPRITES.size() + ", hits=" + hits + ", misses=" + misses;
+    }
+}
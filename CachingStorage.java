@@ -0,0 +1,639 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Storage decorator that serves job list pages from memory.
+ *
+ * Pages returned by {@link JobPostRepository#findPage} are kept in an LRU map
+ * bounded by the total number of cached rows. Once the cache is older than
+ * its TTL, the next read asks the engine only for what changed since the last
+ * check ({@link JobPostRepository#findChangedSince}) and merges that into the
+ * cached pages, so a refresh of a large, mostly unchanged list moves a few
+ * rows rather than whole pages.
+ *
+ * A page covers a contiguous range of the list order, so a created post is
+ * spliced into the pages whose range contains its position (a full page drops
+ * its last row). A deleted post is removed from a short last page; a full page
+ * that loses a row is dropped, since the row that should move up is unknown.
+ * Writes made through this storage are merged the same way straight away.
+ * Account purges, which can remove many posts at once, clear the cache.
+ *
+ * Cached posts are tracked by a {@link JobExpiryScheduler}. When deadlines
+ * pass, the expired posts leave the pages like deleted ones, in one pass over
+ * the cache, so an expired post is never served from memory while the
+ * engine's pages (which exclude expired posts) no longer list it.
+ *
+ * The full text of recently viewed posts ({@link JobPostRepository#findDetails})
+ * is kept in a second, smaller LRU.
+ *
+ * Other reads pass straight through; findByCreator in particular is not
+ * cached because it shows live application counts.
+ *
+ */
+
+public final class CachingStorage implements Storage {
+
+    private record PageKey(JobPostCursor after, int limit) {
+    }
+
+    private final Storage delegate;
+
+    private final int maxRows;
+
+    private final long ttlNanos;
+
+    private final UserRepository users;
+
+    private final JobPostRepository jobPosts;
+
+    private final JobExpiryScheduler expiry;
+
+    // Guards pages, details and the counters below
+    private final Object lock = new Object();
+
+    private final LinkedHashMap<PageKey, List<JobPost>> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int cachedRows;
+
+    private final LinkedHashMap<Integer, JobPostDetails> details = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maxDetails;
+
+    // Bumped whenever cached pages change; a load only caches its result if none happened meanwhile
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long invalidations;
+
+    private long syncs;
+
+    private long mergedChanges;
+
+    private long resets;
+
+    private long expirations;
+
+    private long totalLoadNanos;
+
+    private long detailHits;
+
+    private long detailMisses;
+
+    // One delta check at a time; changeMark is only touched under syncLock, the
+    // flags are also read without it to skip the lock while the cache is fresh
+    private final Object syncLock = new Object();
+
+    private volatile boolean markTaken;
+
+    private long changeMark;
+
+    private volatile long lastSyncNanos;
+
+    public CachingStorage(Storage delegate, int maxRows, int maxDetails, long ttlMillis, JobExpiryScheduler expiry) {
+
+        this.delegate = delegate;
+        this.maxRows = maxRows;
+        this.maxDetails = maxDetails;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.users = new CachingUsers();
+        this.jobPosts = new CachingJobPosts();
+        this.expiry = expiry;
+        expiry.addListener(this::expire);
+    }
+
+    /**
+     *
+     * Wraps delegate using -Dgjms.cache.maxRows (default 5000; 0 disables the
+     * cache), -Dgjms.cache.maxDetails (default 200) and -Dgjms.cache.ttlMs
+     * (default 30000), the longest a page is served before the next read
+     * checks for changes.
+     *
+     */
+
+    public static Storage wrapFromSystemProperties(Storage delegate, JobExpiryScheduler expiry) {
+
+        int maxRows = Integer.getInteger("gjms.cache.maxRows", 5_000);
+
+        return maxRows <= 0 ? delegate
+                : new CachingStorage(delegate, maxRows, Math.max(1, Integer.getInteger("gjms.cache.maxDetails", 200)),
+                        Math.max(1, Long.getLong("gjms.cache.ttlMs", 30_000L)), expiry);
+    }
+
+    @Override
+    public UserRepository users() {
+
+        return users;
+    }
+
+    @Override
+    public JobPostRepository jobPosts() {
+
+        return jobPosts;
+    }
+
+    @Override
+    public ApplicationRepository applications() {
+
+        return delegate.applications();
+    }
+
+    @Override
+    public void start() {
+
+        delegate.start();
+    }
+
+    @Override
+    public String statistics() {
+
+        String inner = delegate.statistics();
+        return (inner.isEmpty() ? "" : inner + "; ") + "job post cache: " + stats();
+    }
+
+    @Override
+    public void close() {
+
+        delegate.close();
+    }
+
+    public CacheStats stats() {
+
+        synchronized (lock) {
+            return new CacheStats(pages.size(), cachedRows, hits, misses, evictions, invalidations, syncs,
+                    mergedChanges, resets, expirations, misses == 0 ? 0 : totalLoadNanos / 1e6 / misses,
+                    details.size(), detailHits, detailMisses);
+        }
+    }
+
+    // =========================================================================================
+
+    // CACHE MAINTENANCE
+
+    // =========================================================================================
+
+    private void putLocked(PageKey key, List<JobPost> posts) {
+
+        List<JobPost> previous = pages.put(key, posts);
+        cachedRows += posts.size() - (previous == null ? 0 : previous.size());
+
+        Iterator<List<JobPost>> eldestFirst = pages.values().iterator();
+        while (cachedRows > maxRows && eldestFirst.hasNext()) {
+            cachedRows -= eldestFirst.next().size();
+            eldestFirst.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     *
+     * Brings the cache up to date if its last check is older than the TTL. The
+     * first call only records where later checks start from.
+     *
+     */
+
+    private void syncIfStale(JobPostRepository inner) throws SQLException {
+
+        if (markTaken && System.nanoTime() - lastSyncNanos < ttlNanos) {
+            return;
+        }
+
+        synchronized (syncLock) {
+            long started = System.nanoTime();
+            if (markTaken && started - lastSyncNanos < ttlNanos) {
+                return; // Another reader just did it
+            }
+
+            if (!markTaken) {
+                changeMark = inner.changeMark();
+                markTaken = true;
+            } else {
+                JobPostChanges changes = inner.findChangedSince(changeMark);
+                applyChanges(changes);
+                changeMark = changes.mark();
+            }
+            lastSyncNanos = started;
+        }
+    }
+
+    private void applyChanges(JobPostChanges changes) {
+
+        synchronized (lock) {
+            syncs++;
+
+            if (!changes.complete()) {
+                resets++;
+                clearLocked();
+                return;
+            }
+
+            if (changes.changed().isEmpty() && changes.deleted().isEmpty()) {
+                return;
+            }
+
+            generation++;
+            for (JobPost post : changes.changed()) {
+                if (expiry.track(post)) {
+                    mergeCreatedLocked(post);
+                } else {
+                    mergeDeletedLocked(post.id()); // Edited to a past deadline
+                }
+            }
+            for (JobPostCursor position : changes.deleted()) {
+                mergeDeletedLocked(position.id());
+            }
+            mergedChanges += changes.changed().size() + changes.deleted().size();
+        }
+    }
+
+    /**
+     *
+     * Splices post into every cached page whose range contains its position.
+     * A post already cached is replaced in place.
+     *
+     */
+
+    private void mergeCreatedLocked(JobPost post) {
+
+        details.remove(post.id()); // The text may have been edited
+        JobPostCursor position = JobPostCursor.of(post);
+
+        Iterator<Map.Entry<PageKey, List<JobPost>>> entries = pages.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<PageKey, List<JobPost>> entry = entries.next();
+            PageKey key = entry.getKey();
+            List<JobPost> posts = entry.getValue();
+
+            int existing = indexOf(posts, post.id());
+            if (existing >= 0) {
+                if (JobPostCursor.LIST_ORDER.compare(JobPostCursor.of(posts.get(existing)), position) != 0) {
+                    // Moved in the list order; the page no longer knows its own range
+                    cachedRows -= posts.size();
+                    entries.remove();
+                    invalidations++;
+                    continue;
+                }
+                List<JobPost> replaced = new ArrayList<>(posts);
+                replaced.set(existing, post);
+                entry.setValue(List.copyOf(replaced));
+                continue;
+            }
+
+            if (!covers(key, posts, position)) {
+                continue;
+            }
+
+            List<JobPost> merged = new ArrayList<>(posts.size() + 1);
+            merged.addAll(posts);
+            merged.add(insertionPoint(posts, position), post);
+            if (merged.size() > key.limit()) {
+                merged.remove(merged.size() - 1);
+            }
+            cachedRows += merged.size() - posts.size();
+            entry.setValue(List.copyOf(merged));
+        }
+    }
+
+    /**
+     *
+     * Removes a deleted post from the short page holding it, or drops the full
+     * pages holding it.
+     *
+     */
+
+    private void mergeDeletedLocked(int jobId) {
+
+        details.remove(jobId);
+
+        Iterator<Map.Entry<PageKey, List<JobPost>>> entries = pages.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<PageKey, List<JobPost>> entry = entries.next();
+            List<JobPost> posts = entry.getValue();
+
+            int existing = indexOf(posts, jobId);
+            if (existing < 0) {
+                continue;
+            }
+
+            if (posts.size() < entry.getKey().limit()) {
+                List<JobPost> remaining = new ArrayList<>(posts);
+                remaining.remove(existing);
+                entry.setValue(List.copyOf(remaining));
+                cachedRows--;
+            } else {
+                cachedRows -= posts.size();
+                entries.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     *
+     * Scheduler callback: drops the given expired posts from every page in one
+     * pass, the way {@link #mergeDeletedLocked} drops a single post.
+     *
+     */
+
+    private void expire(IntHashSet jobIds) {
+
+        synchronized (lock) {
+            generation++;
+            expirations += jobIds.size();
+            jobIds.forEach(details::remove);
+
+            Iterator<Map.Entry<PageKey, List<JobPost>>> entries = pages.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<PageKey, List<JobPost>> entry = entries.next();
+                List<JobPost> posts = entry.getValue();
+
+                List<JobPost> remaining = new ArrayList<>(posts.size());
+                for (JobPost post : posts) {
+                    if (!jobIds.contains(post.id())) {
+                        remaining.add(post);
+                    }
+                }
+                if (remaining.size() == posts.size()) {
+                    continue;
+                }
+
+                if (posts.size() < entry.getKey().limit()) {
+                    entry.setValue(List.copyOf(remaining));
+                    cachedRows -= posts.size() - remaining.size();
+                } else {
+                    cachedRows -= posts.size();
+                    entries.remove();
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    private void clearLocked() {
+
+        generation++;
+        invalidations += pages.size();
+        pages.clear();
+        cachedRows = 0;
+        details.clear();
+    }
+
+    /**
+     *
+     * A page starts just after its cursor and ends at its last post, or runs to
+     * the end of the list if it came back short.
+     *
+     */
+
+    private static boolean covers(PageKey key, List<JobPost> posts, JobPostCursor position) {
+
+        if (key.after() != null && JobPostCursor.LIST_ORDER.compare(position, key.after()) <= 0) {
+            return false;
+        }
+
+        if (posts.size() < key.limit()) {
+            return true;
+        }
+
+        JobPostCursor last = JobPostCursor.of(posts.get(posts.size() - 1));
+        return JobPostCursor.LIST_ORDER.compare(position, last) <= 0;
+    }
+
+    private static int indexOf(List<JobPost> posts, int jobId) {
+
+        for (int i = 0; i < posts.size(); i++) {
+            if (posts.get(i).id() == jobId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int insertionPoint(List<JobPost> posts, JobPostCursor position) {
+
+        int low = 0;
+        int high = posts.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (JobPostCursor.LIST_ORDER.compare(JobPostCursor.of(posts.get(mid)), position) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // =========================================================================================
+
+    // REPOSITORIES
+
+    // =========================================================================================
+
+    private final class CachingJobPosts implements JobPostRepository {
+
+        private final JobPostRepository inner = delegate.jobPosts();
+
+        @Override
+        public List<JobPost> findAll() throws SQLException {
+
+            return inner.findAll();
+        }
+
+        @Override
+        public List<JobPost> findByCreator(String creatorUsername) throws SQLException {
+
+            return inner.findByCreator(creatorUsername);
+        }
+
+        @Override
+        public List<JobPost> findPage(JobPostCursor after, int limit) throws SQLException {
+
+            syncIfStale(inner);
+
+            PageKey key = new PageKey(after, limit);
+            long loadGeneration;
+
+            synchronized (lock) {
+                List<JobPost> cached = pages.get(key);
+                if (cached != null) {
+                    hits++;
+                    return cached;
+                }
+                misses++;
+                loadGeneration = generation;
+            }
+
+            long start = System.nanoTime();
+            List<JobPost> posts = List.copyOf(inner.findPage(after, limit));
+
+            // A deadline may have passed while the page loaded; such a page is not kept
+            boolean open = true;
+            for (JobPost post : posts) {
+                open &= expiry.track(post);
+            }
+
+            synchronized (lock) {
+                totalLoadNanos += System.nanoTime() - start;
+                if (open && generation == loadGeneration) {
+                    putLocked(key, posts);
+                }
+            }
+
+            return posts;
+        }
+
+        @Override
+        public List<JobPost> findBatchAfterId(int afterId, int limit) throws SQLException {
+
+            return inner.findBatchAfterId(afterId, limit);
+        }
+
+        @Override
+        public long changeMark() throws SQLException {
+
+            return inner.changeMark();
+        }
+
+        @Override
+        public Optional<JobPostDetails> findDetails(int jobId) throws SQLException {
+
+            long loadGeneration;
+
+            synchronized (lock) {
+                JobPostDetails cached = details.get(jobId);
+                if (cached != null) {
+                    detailHits++;
+                    return Optional.of(cached);
+                }
+                detailMisses++;
+                loadGeneration = generation;
+            }
+
+            Optional<JobPostDetails> loaded = inner.findDetails(jobId);
+
+            synchronized (lock) {
+                if (loaded.isPresent() && generation == loadGeneration) {
+                    details.put(jobId, loaded.get());
+                    if (details.size() > maxDetails) {
+                        Iterator<JobPostDetails> eldest = details.values().iterator();
+                        eldest.next();
+                        eldest.remove();
+                    }
+                }
+            }
+
+            return loaded;
+        }
+
+        /**
+         *
+         * Bulk reads go straight through: they come from index refreshes, and
+         * caching them would push out the posts people are viewing.
+         *
+         */
+
+        @Override
+        public IntObjectHashMap<JobPostDetails> findDetails(IntHashSet jobIds) throws SQLException {
+
+            return inner.findDetails(jobIds);
+        }
+
+        @Override
+        public JobPostChanges findChangedSince(long mark) throws SQLException {
+
+            return inner.findChangedSince(mark);
+        }
+
+        @Override
+        public JobPost create(JobPost draft) throws SQLException {
+
+            JobPost created = inner.create(draft);
+            if (!expiry.track(created)) {
+                return created; // Already past its deadline, so it is in no page
+            }
+
+            synchronized (lock) {
+                generation++;
+                mergeCreatedLocked(created.summary()); // Pages hold previews, like the list queries return
+            }
+            return created;
+        }
+
+        @Override
+        public boolean delete(int jobId, String creatorUsername) throws SQLException {
+
+            if (!inner.delete(jobId, creatorUsername)) {
+                return false;
+            }
+
+            expiry.untrack(jobId);
+            synchronized (lock) {
+                generation++;
+                mergeDeletedLocked(jobId);
+            }
+            return true;
+        }
+    }
+
+    private final class CachingUsers implements UserRepository {
+
+        private final UserRepository inner = delegate.users();
+
+        @Override
+        public void create(String username, String passwordHash) throws SQLException {
+
+            inner.create(username, passwordHash);
+        }
+
+        @Override
+        public Optional<UserAccount> find(String username) throws SQLException {
+
+            return inner.find(username);
+        }
+
+        @Override
+        public void purge(String username) throws SQLException {
+
+            try {
+                inner.purge(username);
+            } finally {
+                synchronized (lock) {
+                    clearLocked(); // Removes an unknown number of posts
+                }
+            }
+        }
+    }
+
+    public record CacheStats(int pages, int rows, long hits, long misses, long evictions, long invalidations,
+            long syncs, long mergedChanges, long resets, long expirations, double avgLoadMillis, int details,
+            long detailHits, long detailMisses) {
+
+        public double hitRatio() {
+
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+
+            return String.format("pages=%d, rows=%d, hits=%d, misses=%d (%.1f%% hit), evictions=%d, "
+                    + "invalidations=%d, deltaChecks=%d, mergedChanges=%d, resets=%d, expirations=%d, "
+                    + "avgLoad=%.3f ms, details=%d (hits=%d, misses=%d)", pages, rows, hits, misses, hitRatio() * 100,
+                    evictions, invalidations, syncs, mergedChanges, resets, expirations, avgLoadMillis, details,
+                    detailHits, detailMisses);
+        }
+    }
+}
@@ -0,0 +1,556 @@
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ *
+ * Read-only table model that keeps each column in one array: int[] for ids,
+ * ages and counts, long[] for dates (epoch day) and timestamps (epoch nanos),
+ * String[] for text. A 100k-row table is a handful of arrays instead of 100k
+ * Vectors of boxed values, and building it allocates nothing per cell.
+ *
+ * Cells are boxed or formatted only when the table asks for them, which it
+ * does for visible rows alone. Dates show as yyyy-MM-dd and timestamps as
+ * {@link Timestamp#toString} does, as the tables did before.
+ *
+ * When the first column is an int column it is taken as the row id, and
+ * {@link #rowOf} finds a row by id through a primitive hash index. Action
+ * columns (the Apply button) hold no data; their value is computed from the
+ * row id on every paint, so they always reflect current state.
+ *
+ * An empty model built with an empty message shows one placeholder row: id
+ * -1 and the message in the second column, which click handlers already skip.
+ *
+ * A table keeps its model across refreshes: {@link #update} matches the new
+ * rows to the shown ones by id and fires deletions, insertions and updates
+ * for the rows that changed only, so the column setup, selection and scroll
+ * position survive and only those rows repaint.
+ *
+ * Like all Swing models, only to be used on the Event Dispatch Thread.
+ *
+ */
+
+public final class ColumnarTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private enum Kind {
+        INT, DATE, TIMESTAMP, TEXT, ACTION
+    }
+
+    /**
+     *
+     * How to read one column's value from a row object; created by the column
+     * factories below.
+     *
+     */
+
+    public static final class Column<T> {
+
+        private final String name;
+
+        private final Kind kind;
+
+        private final ToIntFunction<? super T> intValue;
+
+        private final Function<? super T, ?> value;
+
+        private final IntFunction<Object> action;
+
+        private Column(String name, Kind kind, ToIntFunction<? super T> intValue, Function<? super T, ?> value,
+                IntFunction<Object> action) {
+
+            this.name = name;
+            this.kind = kind;
+            this.intValue = intValue;
+            this.value = value;
+            this.action = action;
+        }
+    }
+
+    public static <T> Column<T> intColumn(String name, ToIntFunction<? super T> value) {
+
+        return new Column<>(name, Kind.INT, value, null, null);
+    }
+
+    public static <T> Column<T> dateColumn(String name, Function<? super T, LocalDate> value) {
+
+        return new Column<>(name, Kind.DATE, null, value, null);
+    }
+
+    public static <T> Column<T> timestampColumn(String name, Function<? super T, LocalDateTime> value) {
+
+        return new Column<>(name, Kind.TIMESTAMP, null, value, null);
+    }
+
+    public static <T> Column<T> textColumn(String name, Function<? super T, String> value) {
+
+        return new Column<>(name, Kind.TEXT, null, value, null);
+    }
+
+    /**
+     *
+     * An editable button column whose value is valueForId applied to the row
+     * id (null on the placeholder row).
+     *
+     */
+
+    public static <T> Column<T> actionColumn(String name, IntFunction<Object> valueForId) {
+
+        return new Column<>(name, Kind.ACTION, null, null, valueForId);
+    }
+
+    private final String[] names;
+
+    private final Kind[] kinds;
+
+    private final IntFunction<?>[] actions;
+
+    private final Object[] data; // Per column: int[], long[], String[] or null for actions
+
+    private String emptyMessage;
+
+    private int rows;
+
+    private int capacity;
+
+    // id -> row + 1 (0 marks a free slot), open addressing; null without an id column
+    private int[] indexIds;
+
+    private int[] indexRows;
+
+    private ColumnarTableModel(List<? extends Column<?>> columns, int capacity, String emptyMessage) {
+
+        int count = columns.size();
+        names = new String[count];
+        kinds = new Kind[count];
+        actions = new IntFunction<?>[count];
+        data = new Object[count];
+        this.emptyMessage = emptyMessage;
+
+        for (int c = 0; c < count; c++) {
+            Column<?> column = columns.get(c);
+            names[c] = column.name;
+            kinds[c] = column.kind;
+            actions[c] = column.action;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     *
+     * Builds a model holding one row per element of rows. With a non-null
+     * emptyMessage, an empty list shows the placeholder row.
+     *
+     */
+
+    public static <T> ColumnarTableModel of(List<? extends T> rows, List<Column<T>> columns, String emptyMessage) {
+
+        ColumnarTableModel model = new ColumnarTableModel(columns, rows.size(), emptyMessage);
+        model.fill(rows, columns);
+        return model;
+    }
+
+    /**
+     *
+     * True if columns have the names and kinds of this model's, so
+     * {@link #update} can take rows read through them.
+     *
+     */
+
+    public boolean hasColumns(List<? extends Column<?>> columns) {
+
+        if (columns.size() != names.length) {
+            return false;
+        }
+        for (int c = 0; c < names.length; c++) {
+            Column<?> column = columns.get(c);
+            if (!column.name.equals(names[c]) || column.kind != kinds[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * Replaces the rows with newRows, read through columns (which must satisfy
+     * {@link #hasColumns}), by id: rows no longer there are deleted, new ones
+     * inserted where they belong and kept ones rewritten if any cell changed,
+     * each as one event per run of adjacent rows. The diff walks both lists
+     * once; the events and the repainting they cause scale with the changes.
+     *
+     * When most rows change, the kept rows change order, or either list is
+     * empty, the rows are replaced at once with a single data-changed event,
+     * which is cheaper than many small ones and still keeps the columns.
+     *
+     */
+
+    public <T> void update(List<? extends T> newRows, List<Column<T>> columns, String newEmptyMessage) {
+
+        if (indexIds == null || !hasColumns(columns)) {
+            throw new IllegalArgumentException("Rows need the same columns, starting with an id column");
+        }
+
+        ToIntFunction<? super T> id = columns.get(0).intValue;
+        int size = newRows.size();
+        emptyMessage = newEmptyMessage;
+
+        IntHashSet newIds = new IntHashSet(size);
+        int added = 0;
+        for (T row : newRows) {
+            int rowId = id.applyAsInt(row);
+            if (!newIds.add(rowId)) {
+                replace(newRows, columns); // Duplicate ids cannot be matched up
+                return;
+            }
+            if (rowOf(rowId) < 0) {
+                added++;
+            }
+        }
+        int removed = rows - (size - added);
+
+        if (rows == 0 || size == 0 || added + removed > Math.max(rows, size) / 2) {
+            replace(newRows, columns);
+            return;
+        }
+
+        // Until the final reindex, rowOf only tells whether an id was shown before
+        removeRowsWhere(rowId -> !newIds.contains(rowId));
+
+        // Rows [0, r) now match newRows
+        int r = 0;
+        while (r < size) {
+            int start = r;
+            if (r < rows && idAt(r) == id.applyAsInt(newRows.get(r))) {
+                while (r < size && r < rows && idAt(r) == id.applyAsInt(newRows.get(r))
+                        && !matches(r, newRows.get(r), columns)) {
+                    write(r, newRows.get(r), columns);
+                    r++;
+                }
+                if (r > start) {
+                    fireTableRowsUpdated(start, r - 1);
+                } else {
+                    r++; // Unchanged
+                }
+            } else if (rowOf(id.applyAsInt(newRows.get(r))) < 0) {
+                while (r < size && rowOf(id.applyAsInt(newRows.get(r))) < 0) {
+                    r++;
+                }
+                insert(start, newRows.subList(start, r), columns);
+                fireTableRowsInserted(start, r - 1);
+            } else {
+                replace(newRows, columns); // A kept row moved
+                return;
+            }
+        }
+        reindex();
+    }
+
+    // =========================================================================================
+
+    // TABLEMODEL
+
+    // =========================================================================================
+
+    @Override
+    public int getRowCount() {
+
+        return isPlaceholder() ? 1 : rows;
+    }
+
+    @Override
+    public int getColumnCount() {
+
+        return names.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+
+        return names[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+
+        return kinds[column] == Kind.ACTION; // Buttons are "edited" by clicking them
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+
+        if (isPlaceholder()) {
+            return column == 0 ? Integer.valueOf(-1) : column == 1 ? emptyMessage : null;
+        }
+
+        Object array = data[column];
+        return switch (kinds[column]) {
+            case INT -> ((int[]) array)[row];
+            case DATE -> {
+                long day = ((long[]) array)[row];
+                yield day == NULL_TIME ? "" : LocalDate.ofEpochDay(day).toString();
+            }
+            case TIMESTAMP -> {
+                long nanos = ((long[]) array)[row];
+                yield nanos == NULL_TIME ? "" : Timestamp.valueOf(LocalDateTime.ofEpochSecond(
+                        Math.floorDiv(nanos, 1_000_000_000L), (int) Math.floorMod(nanos, 1_000_000_000L),
+                        ZoneOffset.UTC)).toString();
+            }
+            case TEXT -> ((String[]) array)[row];
+            case ACTION -> actions[column].apply(idAt(row));
+        };
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+
+        // Read-only; the button editor's label is not data
+    }
+
+    // =========================================================================================
+
+    // ROWS BY ID
+
+    // =========================================================================================
+
+    /**
+     *
+     * The id of row, from the first column.
+     *
+     */
+
+    public int idAt(int row) {
+
+        return ((int[]) data[0])[row];
+    }
+
+    /**
+     *
+     * The row holding id, or -1.
+     *
+     */
+
+    public int rowOf(int id) {
+
+        if (indexIds == null) {
+            throw new IllegalStateException("The first column is not an id column");
+        }
+
+        int mask = indexIds.length - 1;
+        for (int i = IntHashSet.mix(id) & mask; indexRows[i] != 0; i = (i + 1) & mask) {
+            if (indexIds[i] == id) {
+                return indexRows[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * Removes the rows whose ids are in ids, one run of adjacent rows at a
+     * time from the bottom up, so selection and scroll position survive.
+     *
+     */
+
+    public void removeRows(IntHashSet ids) {
+
+        if (indexIds == null || isPlaceholder()) {
+            return;
+        }
+
+        if (removeRowsWhere(ids::contains)) {
+            reindex();
+        }
+    }
+
+    private boolean removeRowsWhere(IntPredicate remove) {
+
+        boolean removed = false;
+        int end = rows;
+        while (end > 0) {
+            // Find the last run [start, end) of rows to remove
+            while (end > 0 && !remove.test(idAt(end - 1))) {
+                end--;
+            }
+            int start = end;
+            while (start > 0 && remove.test(idAt(start - 1))) {
+                start--;
+            }
+            if (start == end) {
+                break;
+            }
+
+            for (Object array : data) {
+                if (array != null) {
+                    System.arraycopy(array, end, array, start, rows - end);
+                }
+            }
+            rows -= end - start;
+            removed = true;
+            fireTableRowsDeleted(start, end - 1);
+            end = start;
+        }
+        return removed;
+    }
+
+    // =========================================================================================
+
+    // STORAGE
+
+    // =========================================================================================
+
+    private void allocate(int size) {
+
+        for (int c = 0; c < kinds.length; c++) {
+            data[c] = switch (kinds[c]) {
+                case INT -> new int[size];
+                case DATE, TIMESTAMP -> new long[size];
+                case TEXT -> new String[size];
+                case ACTION -> null;
+            };
+        }
+        capacity = size;
+    }
+
+    private <T> void fill(List<? extends T> newRows, List<Column<T>> columns) {
+
+        for (int r = 0; r < newRows.size(); r++) {
+            write(r, newRows.get(r), columns);
+        }
+        rows = newRows.size();
+        reindex();
+    }
+
+    private <T> void replace(List<? extends T> newRows, List<Column<T>> columns) {
+
+        allocate(newRows.size());
+        fill(newRows, columns);
+        fireTableDataChanged();
+    }
+
+    /**
+     *
+     * Opens a gap at row for run and writes it there.
+     *
+     */
+
+    private <T> void insert(int row, List<? extends T> run, List<Column<T>> columns) {
+
+        if (rows + run.size() > capacity) {
+            int grown = Math.max(rows + run.size(), capacity + (capacity >> 1));
+            for (int c = 0; c < data.length; c++) {
+                data[c] = switch (kinds[c]) {
+                    case INT -> Arrays.copyOf((int[]) data[c], grown);
+                    case DATE, TIMESTAMP -> Arrays.copyOf((long[]) data[c], grown);
+                    case TEXT -> Arrays.copyOf((String[]) data[c], grown);
+                    case ACTION -> null;
+                };
+            }
+            capacity = grown;
+        }
+
+        for (Object array : data) {
+            if (array != null) {
+                System.arraycopy(array, row, array, row + run.size(), rows - row);
+            }
+        }
+        for (int i = 0; i < run.size(); i++) {
+            write(row + i, run.get(i), columns);
+        }
+        rows += run.size();
+    }
+
+    private <T> void write(int row, T value, List<Column<T>> columns) {
+
+        for (int c = 0; c < kinds.length; c++) {
+            Column<T> column = columns.get(c);
+            Object array = data[c];
+            switch (kinds[c]) {
+                case INT -> ((int[]) array)[row] = column.intValue.applyAsInt(value);
+                case DATE -> ((long[]) array)[row] = epochDay((LocalDate) column.value.apply(value));
+                case TIMESTAMP -> ((long[]) array)[row] = epochNanos((LocalDateTime) column.value.apply(value));
+                case TEXT -> ((String[]) array)[row] = (String) column.value.apply(value);
+                case ACTION -> {
+                    // Computed on read
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * True if every stored cell of row equals the one value would give.
+     *
+     */
+
+    private <T> boolean matches(int row, T value, List<Column<T>> columns) {
+
+        for (int c = 0; c < kinds.length; c++) {
+            Column<T> column = columns.get(c);
+            Object array = data[c];
+            boolean same = switch (kinds[c]) {
+                case INT -> ((int[]) array)[row] == column.intValue.applyAsInt(value);
+                case DATE -> ((long[]) array)[row] == epochDay((LocalDate) column.value.apply(value));
+                case TIMESTAMP -> ((long[]) array)[row] == epochNanos((LocalDateTime) column.value.apply(value));
+                case TEXT -> Objects.equals(((String[]) array)[row], column.value.apply(value));
+                case ACTION -> true;
+            };
+            if (!same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isPlaceholder() {
+
+        return rows == 0 && emptyMessage != null;
+    }
+
+    private void reindex() {
+
+        if (kinds.length == 0 || kinds[0] != Kind.INT) {
+            return;
+        }
+
+        int slots = IntHashSet.tableSizeFor(rows);
+        indexIds = new int[slots];
+        indexRows = new int[slots];
+        int mask = slots - 1;
+        int[] ids = (int[]) data[0];
+
+        for (int r = 0; r < rows; r++) {
+            int i = IntHashSet.mix(ids[r]) & mask;
+            while (indexRows[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            indexIds[i] = ids[r];
+            indexRows[i] = r + 1;
+        }
+    }
+
+    private static long epochDay(LocalDate date) {
+
+        return date == null ? NULL_TIME : date.toEpochDay();
+    }
+
+    private static long epochNanos(LocalDateTime time) {
+
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+}
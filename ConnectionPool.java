@@ -0,0 +1,800 @@
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ *
+ * Bounded JDBC connection pool used for all GJMS database access.
+ *
+ * Connections handed out by {@link #getConnection()} are proxies: calling
+ * close() returns the physical connection to the pool instead of closing it.
+ *
+ * The pool keeps between minIdle and maxSize physical connections, validates
+ * connections that sat idle before lending them out, evicts connections that
+ * stay idle too long, fails a borrow after a timeout instead of waiting forever
+ * and, when a leak threshold is set, reports connections that are held longer
+ * than it. Leak detection records the borrower's stack on every borrow, so it
+ * is off unless asked for.
+ *
+ * Each physical connection also keeps a small LRU cache of prepared
+ * statements keyed by SQL text, so repeated calls with the same statement
+ * (see NamedQuery) skip the driver's parse/prepare work.
+ *
+ */
+
+public final class ConnectionPool implements DataSource, AutoCloseable {
+
+    /** Connections used within this window are lent out without a validation round trip. */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 5_000;
+
+    private final String url;
+
+    private final String user;
+
+    private final String password;
+
+    private final int minIdle;
+
+    private final int maxSize;
+
+    private final long borrowTimeoutMillis;
+
+    private final long idleTimeoutMillis;
+
+    private final long leakThresholdMillis;
+
+    private final int statementCacheSize;
+
+    // Each borrowed connection holds one permit, so at most maxSize are lent out.
+    private final Semaphore permits;
+
+    // Most recently returned connection first, so hot connections stay hot and
+    // cold ones age out through idle eviction.
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final ScheduledExecutorService housekeeper;
+
+    // Statistics
+    private final LongAdder borrowCount = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final LongAdder borrowTimeouts = new LongAdder();
+
+    private final LongAdder validationFailures = new LongAdder();
+
+    private final LongAdder leaksDetected = new LongAdder();
+
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    private final LongAdder connectionsDestroyed = new LongAdder();
+
+    private final LongAdder statementCacheHits = new LongAdder();
+
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private volatile int loginTimeoutSeconds;
+
+    private volatile PrintWriter logWriter;
+
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+            long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis, int statementCacheSize) {
+
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gjms-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // The first run tops the pool up to minIdle in the background, so the GUI
+        // can start even when the database is not reachable yet.
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *
+     * Creates a pool configured from the gjms.pool.* system properties, falling
+     * back to defaults that suit a single desktop client. Leak detection stays
+     * off unless gjms.pool.leakThresholdMs is set above 0.
+     *
+     */
+
+    public static ConnectionPool fromSystemProperties(String url, String user, String password) {
+
+        return new ConnectionPool(url, user, password,
+                Integer.getInteger("gjms.pool.minIdle", 2),
+                Integer.getInteger("gjms.pool.maxSize", 10),
+                Long.getLong("gjms.pool.borrowTimeoutMs", 5_000L),
+                Long.getLong("gjms.pool.idleTimeoutMs", 300_000L),
+                Long.getLong("gjms.pool.leakThresholdMs", 0L),
+                Integer.getInteger("gjms.pool.statementCacheSize", 64));
+    }
+
+    // =========================================================================================
+
+    // BORROW & RETURN
+
+    // =========================================================================================
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed.");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (" + stats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection pooled = takeOrCreate(deadline);
+            recordWait(System.nanoTime() - start);
+            pooled.lend();
+            active.add(pooled);
+            return pooled.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+
+        throw new SQLFeatureNotSupportedException("The pool only lends connections for its configured user.");
+    }
+
+    private PooledConnection takeOrCreate(long deadline) throws SQLException {
+
+        while (true) {
+
+            PooledConnection pooled = idle.pollFirst();
+
+            if (pooled != null) {
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                destroy(pooled);
+                continue;
+            }
+
+            if (reserveSlot()) {
+                try {
+                    return create();
+                } catch (SQLException | RuntimeException e) {
+                    totalConnections.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            // The housekeeper is filling the last slot; wait for it to land in the idle deque.
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                borrowTimeouts.increment();
+                throw new SQLTimeoutException("Timed out waiting for a database connection (" + stats() + ")");
+            }
+
+            try {
+                pooled = idle.pollFirst(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection.", e);
+            }
+
+            if (pooled != null) {
+                idle.offerFirst(pooled);
+            }
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+
+        try {
+            if (pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            // Treated the same as a failed validation.
+        }
+
+        validationFailures.increment();
+        return false;
+    }
+
+    private void giveBack(PooledConnection pooled) {
+
+        active.remove(pooled);
+
+        boolean reusable = !closed.get() && !pooled.broken && resetState(pooled);
+
+        if (reusable) {
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } else {
+            destroy(pooled);
+        }
+
+        permits.release();
+    }
+
+    /**
+     *
+     * Undoes anything a borrower may have left behind so the next borrower gets a
+     * clean connection. Uncommitted work is rolled back, never committed.
+     *
+     */
+
+    private boolean resetState(PooledConnection pooled) {
+
+        try {
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.physical.clearWarnings();
+            pooled.releaseStatements();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+
+        borrowCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    // =========================================================================================
+
+    // PHYSICAL CONNECTIONS
+
+    // =========================================================================================
+
+    private boolean reserveSlot() {
+
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+
+        Connection physical = DriverManager.getConnection(url, user, password);
+        connectionsCreated.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void destroy(PooledConnection pooled) {
+
+        totalConnections.decrementAndGet();
+        connectionsDestroyed.increment();
+
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // The connection is being discarded anyway.
+        }
+    }
+
+    private void housekeep() {
+
+        if (closed.get()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        // 1. Evict connections that have been idle for too long, keeping minIdle around.
+        Iterator<PooledConnection> it = idle.descendingIterator();
+
+        while (it.hasNext() && totalConnections.get() > minIdle) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastReturnedAt > idleTimeoutMillis && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+
+        // 2. Report connections held longer than the leak threshold (once per borrow).
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pooled : active) {
+                if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                    pooled.leakReported = true;
+                    leaksDetected.increment();
+                    Exception leak = new Exception("Possible connection leak: connection held for "
+                            + (now - pooled.borrowedAt) + " ms by thread " + pooled.borrowerThread
+                            + ". Borrowed at:");
+                    leak.setStackTrace(pooled.borrowStack);
+                    leak.printStackTrace();
+                }
+            }
+        }
+
+        // 3. Top up to minIdle so borrowers rarely pay for a TCP handshake and login.
+        while (idle.size() < minIdle && reserveSlot()) {
+            try {
+                PooledConnection pooled = create();
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                break; // Database not reachable right now; try again on the next run.
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+
+        // Active connections are destroyed as their borrowers return them.
+    }
+
+    // =========================================================================================
+
+    // STATISTICS
+
+    // =========================================================================================
+
+    /**
+     *
+     * Returns a point-in-time snapshot of the pool counters, used to size the
+     * pool for the expected load.
+     *
+     */
+
+    public PoolStats stats() {
+
+        long borrows = borrowCount.sum();
+
+        return new PoolStats(
+                active.size(),
+                idle.size(),
+                totalConnections.get(),
+                permits.getQueueLength(),
+                borrows,
+                borrowTimeouts.sum(),
+                borrows == 0 ? 0 : totalWaitNanos.sum() / 1_000_000.0 / borrows,
+                maxWaitNanos.get() / 1_000_000.0,
+                validationFailures.sum(),
+                leaksDetected.sum(),
+                connectionsCreated.sum(),
+                connectionsDestroyed.sum(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum());
+    }
+
+    /**
+     *
+     * Snapshot of the pool counters. Wait times are in milliseconds.
+     *
+     */
+
+    public record PoolStats(int active, int idle, int total, int waiting, long borrows, long timeouts,
+            double avgWaitMillis, double maxWaitMillis, long validationFailures, long leaks, long created,
+            long destroyed, long statementHits, long statementMisses) {
+
+        public double statementHitRatio() {
+
+            long lookups = statementHits + statementMisses;
+            return lookups == 0 ? 0 : (double) statementHits / lookups;
+        }
+
+        @Override
+        public String toString() {
+
+            return String.format("active=%d, idle=%d, total=%d, waiting=%d, borrows=%d, timeouts=%d, "
+                    + "avgWait=%.3f ms, maxWait=%.3f ms, validationFailures=%d, leaks=%d, created=%d, destroyed=%d, "
+                    + "statementHits=%d, statementMisses=%d (%.1f%% hit)",
+                    active, idle, total, waiting, borrows, timeouts, avgWaitMillis, maxWaitMillis,
+                    validationFailures, leaks, created, destroyed, statementHits, statementMisses,
+                    statementHitRatio() * 100);
+        }
+    }
+
+    // =========================================================================================
+
+    // POOLED CONNECTION PROXY
+
+    // =========================================================================================
+
+    /**
+     *
+     * One physical connection plus the bookkeeping for its current borrow.
+     *
+     * The proxy handed to callers intercepts close(), isClosed() and
+     * prepareStatement(String); every other call is forwarded to the physical
+     * connection.
+     *
+     */
+
+    private final class PooledConnection implements InvocationHandler {
+
+        private final Connection physical;
+
+        private final Connection proxy;
+
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+
+        private volatile long borrowedAt;
+
+        private volatile String borrowerThread;
+
+        private volatile StackTraceElement[] borrowStack;
+
+        private volatile boolean leakReported;
+
+        private volatile boolean broken;
+
+        // Flipped on every lend/return so a stale proxy reference cannot return the
+        // connection twice or use it after it went back to the pool.
+        private volatile boolean lent;
+
+        // Only touched by the thread currently borrowing this connection.
+        private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+
+        PooledConnection(Connection physical) {
+
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        void lend() {
+
+            borrowedAt = System.currentTimeMillis();
+            borrowerThread = Thread.currentThread().getName();
+            borrowStack = leakThresholdMillis > 0 ? Thread.currentThread().getStackTrace() : null;
+            leakReported = false;
+            lent = true;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+
+                case "close":
+                    if (lent) {
+                        lent = false;
+                        giveBack(this);
+                    }
+                    return null;
+
+                case "isClosed":
+                    return !lent || physical.isClosed();
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "Pooled[" + physical + "]";
+
+                default:
+                    break;
+            }
+
+            if (!lent) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+
+            if ("prepareStatement".equals(method.getName()) && args.length == 1 && statementCacheSize > 0) {
+                return prepareCached((String) args[0]);
+            }
+
+            return forward(physical, method, args);
+        }
+
+        private Object forward(Object target, Method method, Object[] args) throws Throwable {
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sql && isFatal(sql)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        private boolean isFatal(SQLException e) {
+
+            // SQLState class 08 = connection exception.
+            String state = e.getSQLState();
+            return state != null && state.startsWith("08");
+        }
+
+        private PreparedStatement prepareCached(String sql) throws SQLException {
+
+            CachedStatement cached = statements.get(sql);
+
+            if (cached != null && !cached.inUse) {
+                statementCacheHits.increment();
+                cached.inUse = true;
+                return cached.proxy;
+            }
+
+            statementCacheMisses.increment();
+
+            PreparedStatement physicalStatement;
+
+            try {
+                physicalStatement = physical.prepareStatement(sql);
+            } catch (SQLException e) {
+                if (isFatal(e)) {
+                    broken = true;
+                }
+                throw e;
+            }
+
+            if (cached != null) {
+                // Same SQL already open on this connection (nested use); hand out an
+                // uncached statement that really closes.
+                return physicalStatement;
+            }
+
+            cached = new CachedStatement(this, physicalStatement);
+            cached.inUse = true;
+            statements.put(sql, cached);
+            return cached.proxy;
+        }
+
+        /**
+         *
+         * Called when the connection goes back to the pool: statements a borrower
+         * forgot to close become reusable, and their stale proxies stop working.
+         *
+         */
+
+        void releaseStatements() throws SQLException {
+
+            for (CachedStatement cached : statements.values()) {
+                if (cached.inUse) {
+                    cached.inUse = false;
+                    cached.physical.clearParameters();
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * A prepared statement kept open on its connection between borrows. close()
+     * on the proxy only clears parameters and batches; the physical statement
+     * is closed when it falls out of the LRU cache or the connection is closed.
+     *
+     */
+
+    private static final class CachedStatement implements InvocationHandler {
+
+        private final PooledConnection owner;
+
+        private final PreparedStatement physical;
+
+        private final PreparedStatement proxy;
+
+        private boolean inUse;
+
+        private boolean evicted;
+
+        CachedStatement(PooledConnection owner, PreparedStatement physical) {
+
+            this.owner = owner;
+            this.physical = physical;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, this);
+        }
+
+        void evict() {
+
+            evicted = true;
+
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Already unusable; nothing else to release.
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+
+                case "close":
+                    if (inUse) {
+                        inUse = false;
+                        if (evicted) {
+                            closeQuietly();
+                        } else {
+                            physical.clearParameters();
+                            physical.clearBatch();
+                        }
+                    }
+                    return null;
+
+                case "isClosed":
+                    return !inUse || physical.isClosed();
+
+                case "getConnection":
+                    return owner.proxy;
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "Cached[" + physical + "]";
+
+                default:
+                    break;
+            }
+
+            if (!inUse) {
+                throw new SQLException("Statement is closed.");
+            }
+
+            return owner.forward(physical, method, args);
+        }
+    }
+
+    // =========================================================================================
+
+    // DataSource boilerplate
+
+    // =========================================================================================
+
+    @Override
+    public PrintWriter getLogWriter() {
+
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+
+        this.loginTimeoutSeconds = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() {
+
+        return loginTimeoutSeconds;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+
+        return iface.isInstance(this);
+    }
+}
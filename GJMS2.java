@@ -4,7 +4,7 @@ import javax.swing.table.TableCellEditor;
 import java.awt.*;
 import java.awt.event.*;
 import java.sql.*;
-import java.util.Vector;
+import java.time.LocalDate;
 
 /**
  * 
@@ -12,7 +12,7 @@ import java.util.Vector;
  * 
  * A simple Swing application for managing job posts and applications
  * 
- * connected to an SQLite database.
+ * backed by MySQL, an embedded H2 database file, or process memory.
  *
  * 
  * 
@@ -20,9 +20,11 @@ import java.util.Vector;
  * 
  * 1. Passwords should be hashed using BCrypt/Argon2, not stored in raw format.
  * 
- * 2. Database connections should be managed via a connection pool.
+ * 2. Database connections are borrowed from a bounded pool (see ConnectionPool).
  * 
- * 3. SQL logic should be separated from the GUI (MVC pattern).
+ * 3. SQL lives behind the Storage repositories (JDBC or in-memory engine).
+ * 
+ * 4. Storage calls run on background workers (UiTaskExecutor), never on the EDT.
  * 
  */
 
@@ -89,12 +91,56 @@ public class GJMS2 extends JFrame {
 
     // --- Database Configuration (Change these to match your setup) ---
 
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/gjms_db";
+    // Server-side prepares let the pool's per-connection statement cache skip re-parsing;
+    // rewriteBatchedStatements turns the write-behind batches into multi-row statements
+
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/gjms_db?useServerPrepStmts=true"
+            + "&rewriteBatchedStatements=true";
 
     private static final String DB_USER = "root";
 
     private static final String DB_PASS = "";
 
+    // Job posts shown per page of search results, and fetched per window of the
+
+    // scrolling job list (-Dgjms.page.size)
+
+    private static final int JOB_LIST_PAGE_SIZE = Math.max(1, Integer.getInteger("gjms.page.size", 50));
+
+    // Windows of the scrolling job list kept in memory; others are fetched again
+
+    private static final int JOB_LIST_RESIDENT_WINDOWS = 8;
+
+    // The job search runs once typing pauses this long
+
+    private static final int JOB_SEARCH_DEBOUNCE_MS = 250;
+
+    // Screens a user is likely to open next from each screen, built ahead while the
+
+    // Event Dispatch Thread is idle (-Dgjms.ui.prebuild=false turns this off)
+
+    private static final java.util.Map<String, java.util.List<String>> LIKELY_NEXT_SCREENS = java.util.Map.of(
+
+            HOME, java.util.List.of(LOGIN, CREATE_ACCOUNT),
+
+            LOGIN, java.util.List.of(DASHBOARD),
+
+            DASHBOARD, java.util.List.of(JOB_LIST, VIEW_APPLIED, CREATE_JOB, VIEW_CREATED),
+
+            JOB_LIST, java.util.List.of(APPLY_JOB));
+
+    private static final boolean PREBUILD_SCREENS = Boolean.parseBoolean(
+
+            System.getProperty("gjms.ui.prebuild", "true"));
+
+    // Quiet time on the Event Dispatch Thread before a likely next screen is built ahead
+
+    private static final int SCREEN_PREBUILD_DELAY_MS = 300;
+
+    // Age after which the search index catches up with posts written elsewhere
+
+    private static final long JOB_SEARCH_REFRESH_MS = 30_000;
+
     // =========================================================================================
 
     // 2. STATE & COMPONENT VARIABLES
@@ -105,12 +151,64 @@ public class GJMS2 extends JFrame {
 
     private final CardLayout cardLayout = new CardLayout();
 
-    private final JPanel mainPanel = new JPanel(cardLayout);
+    private final JPanel mainPanel = new JPanel(cardLayout) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+
+        protected void paintChildren(Graphics g) {
+
+            super.paintChildren(g);
+
+            if (!firstFramePainted) {
+
+                firstFramePainted = true;
+
+                startupPainted();
+
+            }
+
+        }
+
+    };
+
+    private boolean firstFramePainted;
+
+    // Screens not built yet, by name; each is built the first time it is shown
+
+    private final java.util.Map<String, java.util.function.Supplier<JPanel>> screenFactories =
+
+            new java.util.HashMap<>();
+
+    private final java.util.ArrayDeque<String> screensToPrebuild = new java.util.ArrayDeque<>();
+
+    private final javax.swing.Timer screenPrebuildTimer = new javax.swing.Timer(SCREEN_PREBUILD_DELAY_MS,
+
+            e -> prebuildNextScreen());
+
+    // Data Access (users, job posts and applications; see Storage)
+
+    private final Storage storage;
+
+    // Runs all data access off the Event Dispatch Thread (-Dgjms.ui.workers / -Dgjms.ui.queue)
+
+    private final UiTaskExecutor backgroundTasks = UiTaskExecutor.fromSystemProperties();
+
+    // Covers the visible card while background work is in flight
+
+    private final LoadingPane loadingPane = new LoadingPane();
 
     // User State
 
     private String loggedInUsername = null;
 
+    // Job IDs the logged-in user has applied to: loaded once at login, then kept
+
+    // current by apply/withdraw so the job list never asks the database (EDT only)
+
+    private IntHashSet appliedJobIds = new IntHashSet();
+
     private int selectedJobIdToApply; // Used to track which job the user is applying to
 
     // Login/Create Account Fields
@@ -168,49 +266,63 @@ public class GJMS2 extends JFrame {
 
     private JScrollPane jobListScrollPane;
 
-    private JScrollPane appliedJobScrollPane;
+    // The scrolling list of every open post, fetched a window at a time by the
 
-    private JScrollPane createdJobScrollPane;
+    // position of the last post of the window before (keyset), never by row offset.
 
-    // Hover tracking for tables (so table cell buttons can show hover)
+    // null = start again from the top on the next refresh
 
-    private int tableHoverRow = -1;
+    private JobListWindowModel jobListWindows;
 
-    private int tableHoverCol = -1;
+    private JButton jobListPreviousButton;
 
-    /**
-     * 
-     * Establishes a connection to the MySQL database.
-     *
-     * 
-     * 
-     * @return A Connection object or null if the connection fails.
-     * 
-     */
+    private JButton jobListNextButton;
 
-    public static Connection connect() {
+    private JLabel jobListPageLabel;
 
-        Connection conn = null;
+    // Full text of the selected job; list rows only carry previews
 
-        try {
+    private JTextArea jobDetailsArea;
 
-            conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
+    private int jobDetailsJobId; // Job whose details were last requested
 
-        } catch (SQLException e) {
+    // Job search: an in-memory index over every post, queried as the user types
 
-            JOptionPane.showMessageDialog(null,
+    private final JobSearchIndex searchIndex;
 
-                    "Database Connection Failed!\nEnsure MySQL/XAMPP is running and the 'gjms_db' database exists.",
+    // Hides posts from the cache, the search index and the job list as their deadlines pass
 
-                    "DB Error", JOptionPane.ERROR_MESSAGE);
+    private final JobExpiryScheduler expiryScheduler;
 
-            e.printStackTrace();
+    private boolean searchIndexUpdating; // A build or catch-up is running
 
-        }
+    private boolean showingSearchResults; // The table holds search results, not a page
 
-        return conn;
+    private boolean showingBestMatches; // The table holds the user's best skill matches
 
-    }
+    private String applicantProfile; // Education and skills from the user's applications; null until loaded
+
+    private JTextField jobSearchField;
+
+    // Location and employer filters; their selection applies to the list and to searches
+
+    private JList<JobFacets.Count> locationFacetList;
+
+    private JList<JobFacets.Count> employerFacetList;
+
+    private boolean updatingFacetLists; // Selection events from refilling the lists are not user choices
+
+    private javax.swing.Timer jobSearchDebounce;
+
+    private JScrollPane appliedJobScrollPane;
+
+    private JScrollPane createdJobScrollPane;
+
+    // Hover tracking for tables (so table cell buttons can show hover)
+
+    private int tableHoverRow = -1;
+
+    private int tableHoverCol = -1;
 
     // =========================================================================================
 
@@ -218,7 +330,13 @@ public class GJMS2 extends JFrame {
 
     // =========================================================================================
 
-    public GJMS2() {
+    public GJMS2(Storage storage, JobExpiryScheduler expiryScheduler) {
+
+        this.storage = storage;
+
+        this.expiryScheduler = expiryScheduler;
+
+        this.searchIndex = new JobSearchIndex(expiryScheduler);
 
         setTitle("GUI Window");
 
@@ -230,6 +348,54 @@ public class GJMS2 extends JFrame {
 
         initializeGUI();
 
+        setGlassPane(loadingPane);
+
+        addWindowListener(new WindowAdapter() {
+
+            @Override
+
+            public void windowOpened(WindowEvent e) {
+
+                StartupTimeline.mark("frame visible");
+
+            }
+
+        });
+
+        expiryScheduler.addListener(expired -> SwingUtilities.invokeLater(() -> removeExpiredJobRows(expired)));
+
+        // Queued applications are written later; only a refused one is reported, as the job already shows APPLIED
+
+        storage.applications().addSaveListener(new ApplicationRepository.SaveListener() {
+
+            @Override
+
+            public void saved(JobApplication application) {
+
+            }
+
+            @Override
+
+            public void rejected(JobApplication application, String reason) {
+
+                SwingUtilities.invokeLater(() -> applicationRejected(application, reason));
+
+            }
+
+        });
+
+        // Button sprites were rendered for the old look and feel's surfaces
+
+        UIManager.addPropertyChangeListener(e -> {
+
+            if ("lookAndFeel".equals(e.getPropertyName())) {
+
+                ButtonSprites.clear();
+
+            }
+
+        });
+
     }
 
     /**
@@ -240,29 +406,33 @@ public class GJMS2 extends JFrame {
 
     private void initializeGUI() {
 
-        // Create all screens and add them to the main panel
+        // Register every screen; each is built and added to the main panel on first show,
+
+        // so only the home screen is built before the window appears
+
+        screenFactories.put(HOME, this::createHomeScreen);
 
-        mainPanel.add(createHomeScreen(), HOME);
+        screenFactories.put(CREATE_ACCOUNT, this::createCreateAccountScreen);
 
-        mainPanel.add(createCreateAccountScreen(), CREATE_ACCOUNT);
+        screenFactories.put(LOGIN, this::createLoginScreen);
 
-        mainPanel.add(createLoginScreen(), LOGIN);
+        screenFactories.put(DASHBOARD, this::createDashboardScreen);
 
-        mainPanel.add(createDashboardScreen(), DASHBOARD);
+        screenFactories.put(JOB_LIST, this::createJobListScreen);
 
-        mainPanel.add(createJobListScreen(), JOB_LIST);
+        screenFactories.put(APPLY_JOB, this::createApplyJobScreen);
 
-        mainPanel.add(createApplyJobScreen(), APPLY_JOB);
+        screenFactories.put(CREATE_JOB, this::createCreateJobScreen);
 
-        mainPanel.add(createCreateJobScreen(), CREATE_JOB);
+        screenFactories.put(VIEW_APPLIED, this::createViewAppliedJobsScreen);
 
-        mainPanel.add(createViewAppliedJobsScreen(), VIEW_APPLIED);
+        screenFactories.put(VIEW_CREATED, this::createViewCreatedJobsScreen);
 
-        mainPanel.add(createViewCreatedJobsScreen(), VIEW_CREATED);
+        screenPrebuildTimer.setRepeats(false);
 
         add(mainPanel);
 
-        cardLayout.show(mainPanel, HOME); // Start on the home screen
+        showScreen(HOME); // Start on the home screen
 
         // Add a mouse listener to the job list table to handle button clicks
 
@@ -278,6 +448,122 @@ public class GJMS2 extends JFrame {
 
     }
 
+    /**
+     * 
+     * Switches the main panel to a screen, building it first if needed, and queues
+     * 
+     * the screens likely to follow it for building ahead.
+     * 
+     */
+
+    private void showScreen(String name) {
+
+        buildScreen(name);
+
+        cardLayout.show(mainPanel, name);
+
+        if (PREBUILD_SCREENS) {
+
+            screensToPrebuild.clear();
+
+            screensToPrebuild.addAll(LIKELY_NEXT_SCREENS.getOrDefault(name, java.util.List.of()));
+
+            screenPrebuildTimer.restart();
+
+        }
+
+    }
+
+    /**
+     * 
+     * Builds a screen and adds it to the main panel unless that was done already.
+     * 
+     * Code that fills a screen's fields before showing it calls this first.
+     * 
+     */
+
+    private void buildScreen(String name) {
+
+        java.util.function.Supplier<JPanel> factory = screenFactories.remove(name);
+
+        if (factory != null) {
+
+            mainPanel.add(factory.get(), name);
+
+        }
+
+    }
+
+    /**
+     * 
+     * Builds one queued screen if nothing else is waiting on the Event Dispatch
+     * 
+     * Thread, otherwise waits for the next quiet moment. One screen per turn keeps
+     * 
+     * each pause shorter than a click.
+     * 
+     */
+
+    private void prebuildNextScreen() {
+
+        if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null) {
+
+            screenPrebuildTimer.restart(); // Input or painting is pending
+
+            return;
+
+        }
+
+        String name = screensToPrebuild.poll();
+
+        while (name != null && !screenFactories.containsKey(name)) {
+
+            name = screensToPrebuild.poll();
+
+        }
+
+        if (name == null) {
+
+            return;
+
+        }
+
+        buildScreen(name);
+
+        if (!screensToPrebuild.isEmpty()) {
+
+            screenPrebuildTimer.restart();
+
+        }
+
+    }
+
+    /**
+     * 
+     * Called once the window has painted for the first time. Input queued behind
+     * 
+     * that paint is handled next, so the application is ready for it from then on.
+     * 
+     */
+
+    private void startupPainted() {
+
+        StartupTimeline.mark("first paint");
+
+        SwingUtilities.invokeLater(() -> {
+
+            StartupTimeline.mark("ready for input");
+
+            if (Boolean.getBoolean("gjms.stats")) {
+
+                System.out.println("[gjms] startup " + StartupTimeline.summary());
+
+            }
+
+        });
+
+    }
+
     /**
      * * Attaches a MouseListener to the job list table to detect "Apply" button
      * * clicks and sets the job ID. (FIXED)
@@ -294,8 +580,6 @@ public class GJMS2 extends JFrame {
 
                 // Check if the click was on the last column (the button column)
                 if (column == lastCol) {
-                    Object cellValue = jobListTable.getValueAt(row, column);
-
                     // The job ID is stored in the first column (index 0) of the table model
                     Object idValueObj = jobListTable.getModel().getValueAt(jobListTable.convertRowIndexToModel(row), 0);
 
@@ -307,88 +591,171 @@ public class GJMS2 extends JFrame {
                     // 🚨 CRITICAL FIX: Set the job ID before navigating
                     selectedJobIdToApply = (int) idValueObj;
 
-                    if ("Apply".equals(cellValue)) {
+                    if (!appliedJobIds.contains(selectedJobIdToApply)) {
                         // User clicked 'Apply', navigate to the application form
+                        showScreen(APPLY_JOB);
                         clearApplyFields();
-                        cardLayout.show(mainPanel, APPLY_JOB);
-                    } else if ("APPLIED".equals(cellValue)) {
+                    } else {
                         // User clicked 'APPLIED', load existing data for viewing/editing
                         loadApplicationData(selectedJobIdToApply);
-                        cardLayout.show(mainPanel, APPLY_JOB);
+                        showScreen(APPLY_JOB);
                     }
                 }
             }
         });
 
-        // ... (MouseMotionListener for hover tracking remains the same)
-        // ...
-    }
+        // Hover for the APPLY buttons: only the cell the pointer enters and the one it
+        // leaves are repainted, and moves within one cell (or outside the button
+        // column) repaint nothing at all
 
-    // =========================================================================================
+        jobListTable.addMouseMotionListener(new MouseMotionAdapter() {
 
-    // 4. SCREEN CREATION METHODS (GUI Layout)
+            @Override
 
-    // =========================================================================================
+            public void mouseMoved(MouseEvent e) {
 
-    /**
-     * 
-     * Step 1: Home Screen (Initial landing page).
-     * 
-     */
+                updateTableHover(e.getPoint());
 
-    private JPanel createHomeScreen() {
+            }
 
-        JPanel panel = new JPanel(new GridBagLayout());
+        });
 
-        panel.setBackground(BG_COLOR);
+        jobListTable.addMouseListener(new MouseAdapter() {
 
-        panel.setBorder(BorderFactory.createEmptyBorder(50, 50, 50, 50));
+            @Override
 
-        GridBagConstraints gbc = new GridBagConstraints();
+            public void mouseExited(MouseEvent e) {
 
-        gbc.insets = new Insets(15, 15, 15, 15);
+                updateTableHover(null);
 
-        gbc.gridx = 0;
+            }
 
-        gbc.gridy = 0;
+        });
 
-        // Title
+    }
 
-        JLabel title = new JLabel("GRADUATE JOB MANAGEMENT SYSTEM");
+    /**
+     * 
+     * Moves the button hover to the job list cell at point (null clears it).
+     * 
+     * Swing already merges queued mouse moves, and the RepaintManager merges the
+     * two dirty cells with any other repaint of the frame, so a fast sweep over
+     * thousands of rows costs two rowAtPoint lookups per event and one paint of
+     * a few cells per frame rather than a paint of the whole visible table.
+     * 
+     */
 
-        title.setFont(HEADER_FONT);
+    private void updateTableHover(Point point) {
 
-        title.setForeground(TEXT_COLOR);
+        int row = -1;
 
-        panel.add(title, gbc);
+        int col = -1;
 
-        gbc.gridy++;
+        if (point != null) {
 
-        // Subtitle
+            int column = jobListTable.columnAtPoint(point);
 
-        JLabel subtitle = new JLabel("Find or Post Eco-Friendly Employment Opportunities");
+            if (column == jobListTable.getColumnCount() - 1) {
 
-        subtitle.setFont(TEXT_FONT.deriveFont(Font.ITALIC, 25f));
+                row = jobListTable.rowAtPoint(point);
 
-        subtitle.setForeground(TEXT_COLOR);
+                col = row < 0 ? -1 : column;
 
-        panel.add(subtitle, gbc);
+            }
 
-        gbc.gridy++;
+        }
 
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 10));
+        if (row == tableHoverRow && col == tableHoverCol) {
 
-        buttonPanel.setBackground(BG_COLOR);
+            return;
 
-        // LOGIN Button
+        }
 
-        JButton loginButton = createStyledButton("LOG-IN", BUTTON_FONT);
-        loginButton.setForeground(Color.WHITE);
-        loginButton.addActionListener(e -> {
+        repaintTableCell(tableHoverRow, tableHoverCol);
 
-            clearLoginFields();
+        tableHoverRow = row;
 
-            cardLayout.show(mainPanel, LOGIN);
+        tableHoverCol = col;
+
+        repaintTableCell(row, col);
+
+    }
+
+    private void repaintTableCell(int row, int col) {
+
+        if (row >= 0 && col >= 0 && row < jobListTable.getRowCount()) {
+
+            jobListTable.repaint(jobListTable.getCellRect(row, col, false));
+
+        }
+
+    }
+
+    // =========================================================================================
+
+    // 4. SCREEN CREATION METHODS (GUI Layout)
+
+    // =========================================================================================
+
+    /**
+     * 
+     * Step 1: Home Screen (Initial landing page).
+     * 
+     */
+
+    private JPanel createHomeScreen() {
+
+        JPanel panel = new JPanel(new GridBagLayout());
+
+        panel.setBackground(BG_COLOR);
+
+        panel.setBorder(BorderFactory.createEmptyBorder(50, 50, 50, 50));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        gbc.insets = new Insets(15, 15, 15, 15);
+
+        gbc.gridx = 0;
+
+        gbc.gridy = 0;
+
+        // Title
+
+        JLabel title = new JLabel("GRADUATE JOB MANAGEMENT SYSTEM");
+
+        title.setFont(HEADER_FONT);
+
+        title.setForeground(TEXT_COLOR);
+
+        panel.add(title, gbc);
+
+        gbc.gridy++;
+
+        // Subtitle
+
+        JLabel subtitle = new JLabel("Find or Post Eco-Friendly Employment Opportunities");
+
+        subtitle.setFont(TEXT_FONT.deriveFont(Font.ITALIC, 25f));
+
+        subtitle.setForeground(TEXT_COLOR);
+
+        panel.add(subtitle, gbc);
+
+        gbc.gridy++;
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 10));
+
+        buttonPanel.setBackground(BG_COLOR);
+
+        // LOGIN Button
+
+        JButton loginButton = createStyledButton("LOG-IN", BUTTON_FONT);
+        loginButton.setForeground(Color.WHITE);
+        loginButton.addActionListener(e -> {
+
+            showScreen(LOGIN);
+
+            clearLoginFields();
 
         });
 
@@ -398,9 +765,9 @@ public class GJMS2 extends JFrame {
         createAccountButton.setForeground(Color.WHITE);
         createAccountButton.addActionListener(e -> {
 
-            clearCreateFields();
+            showScreen(CREATE_ACCOUNT);
 
-            cardLayout.show(mainPanel, CREATE_ACCOUNT);
+            clearCreateFields();
 
         });
 
@@ -504,7 +871,7 @@ public class GJMS2 extends JFrame {
 
             clearLoginFields();
 
-            cardLayout.show(mainPanel, HOME);
+            showScreen(HOME);
 
         });
 
@@ -611,7 +978,7 @@ public class GJMS2 extends JFrame {
 
             clearCreateFields();
 
-            cardLayout.show(mainPanel, HOME);
+            showScreen(HOME);
 
         });
 
@@ -655,7 +1022,25 @@ public class GJMS2 extends JFrame {
 
         JButton browseJobsButton = createStyledButton("FIND and APPLY JOBS", BUTTON2_FONT);
         browseJobsButton.setForeground(Color.WHITE);
-        browseJobsButton.addActionListener(e -> refreshJobListAndShow());
+        browseJobsButton.addActionListener(e -> {
+
+            // Always enter the job list on its first (newest) page, unfiltered
+
+            buildScreen(JOB_LIST);
+
+            jobSearchField.setText("");
+
+            clearFacetSelection();
+
+            showingSearchResults = false;
+
+            showingBestMatches = false;
+
+            jobListWindows = null;
+
+            refreshJobListAndShow();
+
+        });
 
         JButton viewAppliedButton = createStyledButton("VIEW APPLIED JOBS", BUTTON_FONT);
         viewAppliedButton.setForeground(Color.WHITE);
@@ -665,9 +1050,9 @@ public class GJMS2 extends JFrame {
         createJobButton.setForeground(Color.WHITE);
         createJobButton.addActionListener(e -> {
 
-            clearCreateJobFields();
+            showScreen(CREATE_JOB);
 
-            cardLayout.show(mainPanel, CREATE_JOB);
+            clearCreateJobFields();
 
         });
 
@@ -681,7 +1066,11 @@ public class GJMS2 extends JFrame {
 
             loggedInUsername = null;
 
-            cardLayout.show(mainPanel, HOME);
+            appliedJobIds = new IntHashSet();
+
+            applicantProfile = null;
+
+            showScreen(HOME);
 
         });
 
@@ -725,9 +1114,81 @@ public class GJMS2 extends JFrame {
 
         panel.setBorder(BorderFactory.createEmptyBorder(20, 50, 20, 50));
 
-        // Header
+        // Header with the search box under it
+
+        JPanel northPanel = new JPanel(new BorderLayout());
+
+        northPanel.setBackground(BG_COLOR);
+
+        northPanel.add(createHeader("AVAILABLE JOB POSTS"), BorderLayout.NORTH);
+
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+
+        searchPanel.setBackground(BG_COLOR);
+
+        jobSearchField = createTextField(30);
+
+        // Restarted on every keystroke, so the search runs once typing pauses
+
+        jobSearchDebounce = new javax.swing.Timer(JOB_SEARCH_DEBOUNCE_MS, e -> runJobSearch());
+
+        jobSearchDebounce.setRepeats(false);
+
+        jobSearchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+
+            @Override
+
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+
+                jobSearchDebounce.restart();
+
+            }
+
+            @Override
+
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+
+                jobSearchDebounce.restart();
+
+            }
+
+            @Override
+
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+
+                jobSearchDebounce.restart();
+
+            }
+
+        });
+
+        searchPanel.add(createLabel("SEARCH:", TEXT_FONT));
+
+        searchPanel.add(jobSearchField);
+
+        // Ranks every post against the user's education and skills instead
 
-        panel.add(createHeader("AVAILABLE JOB POSTS"), BorderLayout.NORTH);
+        JButton bestMatchesButton = createStyledButton("BEST MATCHES", BUTTON_FONT);
+
+        bestMatchesButton.setForeground(Color.WHITE);
+
+        bestMatchesButton.addActionListener(e -> {
+
+            showingSearchResults = false; // Makes the search below, run once the field clears, a no-op
+
+            jobSearchField.setText("");
+
+            clearFacetSelection(); // Rankings cover every post
+
+            showBestMatches();
+
+        });
+
+        searchPanel.add(bestMatchesButton);
+
+        northPanel.add(searchPanel, BorderLayout.SOUTH);
+
+        panel.add(northPanel, BorderLayout.NORTH);
 
         // Job List Table (Center)
 
@@ -764,21 +1225,95 @@ public class GJMS2 extends JFrame {
 
         jobListScrollPane.setBorder(BorderFactory.createLineBorder(TEXT_COLOR, 2));
 
+        // Scrolling (or resizing) asks the scrolling list for the windows coming into view,
+
+        // and moves the hover to whichever button has slid under a still pointer
+
+        jobListScrollPane.getViewport().addChangeListener(e -> {
+
+            updateJobListWindows();
+
+            updateTableHover(jobListTable.getMousePosition());
+
+        });
+
         panel.add(jobListScrollPane, BorderLayout.CENTER);
 
-        // South Button (BACK)
+        // Location and employer filters (West), filled once the search index is ready
+
+        locationFacetList = createFacetList();
+
+        employerFacetList = createFacetList();
+
+        JPanel facetPanel = new JPanel(new GridLayout(2, 1, 0, 10));
+
+        facetPanel.setBackground(BG_COLOR);
+
+        facetPanel.setPreferredSize(new Dimension(260, 0));
+
+        facetPanel.add(createFacetSection("LOCATION", locationFacetList));
+
+        facetPanel.add(createFacetSection("EMPLOYER", employerFacetList));
+
+        panel.add(facetPanel, BorderLayout.WEST);
+
+        // Selected job details, loaded on demand
+
+        jobDetailsArea = createTextArea(4, 30);
+
+        jobDetailsArea.setForeground(Color.WHITE);
+
+        jobDetailsArea.setEditable(false);
+
+        jobListTable.getSelectionModel().addListSelectionListener(e -> {
+
+            if (!e.getValueIsAdjusting()) {
+
+                showSelectedJobDetails();
+
+            }
+
+        });
+
+        // South Buttons (PREVIOUS / rows shown / NEXT, BACK); PREVIOUS and NEXT scroll the
+
+        // list by one screen
 
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 50, 10));
 
         buttonPanel.setBackground(BG_COLOR);
 
+        jobListPreviousButton = createStyledButton("< PREVIOUS", BUTTON2_FONT);
+        jobListPreviousButton.setForeground(Color.WHITE);
+        jobListPreviousButton.addActionListener(e -> scrollJobList(-1));
+
+        jobListPageLabel = createLabel("", TEXT_FONT);
+
+        jobListNextButton = createStyledButton("NEXT >", BUTTON2_FONT);
+        jobListNextButton.setForeground(Color.WHITE);
+        jobListNextButton.addActionListener(e -> scrollJobList(1));
+
         JButton backButton = createStyledButton("BACK TO DASHBOARD", BUTTON_FONT);
         backButton.setForeground(Color.WHITE);
-        backButton.addActionListener(e -> cardLayout.show(mainPanel, DASHBOARD));
+        backButton.addActionListener(e -> showScreen(DASHBOARD));
+
+        buttonPanel.add(jobListPreviousButton);
+
+        buttonPanel.add(jobListPageLabel);
+
+        buttonPanel.add(jobListNextButton);
 
         buttonPanel.add(backButton);
 
-        panel.add(buttonPanel, BorderLayout.SOUTH);
+        JPanel southPanel = new JPanel(new BorderLayout(10, 10));
+
+        southPanel.setBackground(BG_COLOR);
+
+        southPanel.add(new JScrollPane(jobDetailsArea), BorderLayout.CENTER);
+
+        southPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        panel.add(southPanel, BorderLayout.SOUTH);
 
         // Attach mouse listener for button clicks + hover handling
 
@@ -1134,7 +1669,7 @@ public class GJMS2 extends JFrame {
 
             clearCreateJobFields();
 
-            cardLayout.show(mainPanel, DASHBOARD);
+            showScreen(DASHBOARD);
 
         });
 
@@ -1216,7 +1751,7 @@ public class GJMS2 extends JFrame {
 
         JButton backButton = createStyledButton("BACK", BUTTON_FONT);
 
-        backButton.addActionListener(e -> cardLayout.show(mainPanel, DASHBOARD));
+        backButton.addActionListener(e -> showScreen(DASHBOARD));
 
         JButton deleteButton = createStyledButton("DELETE APPLICATION", TEXT_FONT);
 
@@ -1306,7 +1841,7 @@ public class GJMS2 extends JFrame {
 
         JButton backButton = createStyledButton("BACK", BUTTON_FONT);
         backButton.setForeground(Color.WHITE);
-        backButton.addActionListener(e -> cardLayout.show(mainPanel, DASHBOARD));
+        backButton.addActionListener(e -> showScreen(DASHBOARD));
 
         JButton deleteButton = createStyledButton("DELETE JOB POST", TEXT_FONT);
 
@@ -1363,6 +1898,40 @@ public class GJMS2 extends JFrame {
 
     // =========================================================================================
 
+    /**
+     * 
+     * Runs task on a background worker while the loading pane covers the window,
+     * 
+     * then calls onSuccess or onFailure back on the Event Dispatch Thread. Every
+     * 
+     * handler below reads its inputs from the UI first and only touches
+     * 
+     * storage inside task, so the UI never waits on the database.
+     * 
+     */
+
+    private <T> void runInBackground(UiTaskExecutor.Task<T> task, java.util.function.Consumer<T> onSuccess,
+
+            java.util.function.Consumer<Exception> onFailure) {
+
+        loadingPane.begin();
+
+        backgroundTasks.submit(task, result -> {
+
+            loadingPane.end();
+
+            onSuccess.accept(result);
+
+        }, ex -> {
+
+            loadingPane.end();
+
+            onFailure.accept(ex);
+
+        });
+
+    }
+
     /**
      * 
      * Handles the Create Account logic (Step 3).
@@ -1375,304 +1944,888 @@ public class GJMS2 extends JFrame {
 
         String password = new String(createPasswordField.getPassword());
 
-        String rePassword = new String(createRePasswordField.getPassword());
+        String rePassword = new String(createRePasswordField.getPassword());
+
+        if (username.isEmpty() || password.isEmpty() || rePassword.isEmpty()) {
+
+            JOptionPane.showMessageDialog(this, "Please fill in all fields.", "Error", JOptionPane.ERROR_MESSAGE);
+
+            return;
+
+        }
+
+        if (!password.equals(rePassword)) {
+
+            JOptionPane.showMessageDialog(this, "Passwords do not match.", "Error", JOptionPane.ERROR_MESSAGE);
+
+            return;
+
+        }
+
+        // Basic Validation
+
+        if (password.length() < 8 || username.length() < 6) {
+
+            JOptionPane.showMessageDialog(this,
+
+                    "Password must be at least 8 Characters and Username at least 6 Characters.", "Error",
+
+                    JOptionPane.ERROR_MESSAGE);
+
+            return;
+
+        }
+
+        // NOTE: In a real application, you must use a strong hashing library!
+
+        String hashedPassword = password;
+
+        runInBackground(() -> {
+
+            storage.users().create(username, hashedPassword);
+
+            return null;
+
+        }, done -> {
+
+            JOptionPane.showMessageDialog(this, "Account Created Successfully! You can now Log In.", "Account Saved",
+
+                    JOptionPane.INFORMATION_MESSAGE);
+
+            clearCreateFields();
+
+            showScreen(HOME);
+
+        }, ex -> {
+
+            if (ex instanceof SQLIntegrityConstraintViolationException) {
+
+                JOptionPane.showMessageDialog(this,
+
+                        "Username '" + username + "' Already Exists. Please choose a different one.", "Error",
+
+                        JOptionPane.ERROR_MESSAGE);
+
+            } else {
+
+                JOptionPane.showMessageDialog(this, "Database error: " + ex.getMessage(), "Error",
+
+                        JOptionPane.ERROR_MESSAGE);
+
+            }
+
+        });
+
+    }
+
+    /**
+     * * Handles the Log-In logic (Step 4) with case-sensitive username check.
+     */
+    private void handleLogin(ActionEvent e) {
+        String enteredUsername = loginUsernameField.getText().trim();
+        String password = new String(loginPasswordField.getPassword());
+
+        if (enteredUsername.isEmpty() || password.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please Enter Username and Password.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Retrieve the stored username (with its original case) and password hash.
+        // If the storage engine looks usernames up case-insensitively, it will
+        // find the user.
+        // We will then check the case-sensitivity in the Java code below.
+        runInBackground(() -> storage.users().find(enteredUsername),
+                account -> completeLogin(enteredUsername, password, account),
+                ex -> JOptionPane.showMessageDialog(this, "Database Error during Log-In: " + ex.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * 
+     * Finishes the Log-In on the EDT once the account lookup has returned.
+     * 
+     */
+
+    private void completeLogin(String enteredUsername, String password, java.util.Optional<UserAccount> account) {
+        if (account.isPresent()) {
+            // User found (possibly case-insensitively by the database)
+
+            String storedUsername = account.get().username();
+            String storedPasswordHash = account.get().passwordHash();
+
+            // --- 1. **CRITICAL CHANGE:** Check if the entered username exactly matches the
+            // stored username (case-sensitively) ---
+            if (!enteredUsername.equals(storedUsername)) {
+                // This handles the case where the database found "UserA" for an input of
+                // "usera".
+                // The storedUsername is "UserA", enteredUsername is "usera". They are NOT
+                // .equals()
+
+                JOptionPane.showMessageDialog(this,
+                        "Wrong Username or Account Not Exist.", "Login Failed",
+                        JOptionPane.ERROR_MESSAGE);
+                return; // Stop the login process
+            }
+
+            // --- 2. User exists with the correct case, now check password ---
+
+            // Assuming `password.equals(storedPasswordHash)` is where you'd normally verify
+            // the password (e.g., using BCrypt.checkpw)
+            if (password.equals(storedPasswordHash)) {
+
+                // Load the applied job IDs once for the whole session
+                runInBackground(() -> storage.applications().findAppliedJobIds(enteredUsername), applied -> {
+                    loggedInUsername = enteredUsername;
+                    appliedJobIds = applied;
+                    applicantProfile = null;
+                    clearLoginFields();
+                    showScreen(DASHBOARD); // Step 6: Go to Dashboard
+                }, ex -> JOptionPane.showMessageDialog(this, "Database Error during Log-In: " + ex.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+            } else {
+                // Password incorrect for existing user
+                JOptionPane.showMessageDialog(this, "Incorrect Password.", "Login Failed",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        } else {
+            // --- User does NOT exist (even case-insensitively) ---
+            JOptionPane.showMessageDialog(this,
+                    "Wrong username or Account not exist.", "Login Failed",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * 
+     * Refreshes the Job List table and switches to the Job List screen (Step 6).
+     * 
+     * Without a search or filter it shows every open post, newest first, as one
+     * 
+     * scrolling list that loads the windows coming into view (see
+     * 
+     * JobListWindowModel); coming back to it keeps the scroll position.
+     * 
+     */
+
+    private void refreshJobListAndShow() {
+
+        buildScreen(JOB_LIST); // The search field and filters are read before it is shown
+
+        ensureSearchIndex();
+
+        // Counts and filtering come from the index's bitmaps, not from the database
+
+        JobFacets.Selection selection = currentFacetSelection();
+
+        JobSearchIndex.Filtered filtered = null;
+
+        if (searchIndex.isReady()) {
+
+            filtered = searchIndex.filter(selection, JOB_LIST_PAGE_SIZE);
+
+            updateFacetLists(filtered);
+
+        }
+
+        if (!jobSearchField.getText().isBlank()) {
+
+            // Coming back from the Apply screen to a search keeps showing its results
+
+            showScreen(JOB_LIST);
+
+            runJobSearch();
+
+            return;
+
+        }
+
+        if (showingBestMatches) {
+
+            showScreen(JOB_LIST);
+
+            showBestMatches();
+
+            return;
+
+        }
+
+        if (filtered != null && !selection.isEmpty()) {
+
+            showScreen(JOB_LIST);
+
+            showFilteredJobs(filtered);
+
+            return;
+
+        }
+
+        showScreen(JOB_LIST);
+
+        if (jobListWindows == null) {
+
+            // Only the posts are fetched; APPLY status comes from the session's appliedJobIds
+
+            jobListWindows = new JobListWindowModel(jobListColumns(), JOB_LIST_PAGE_SIZE, JOB_LIST_RESIDENT_WINDOWS,
+
+                    (after, limit, onLoaded, onFailure) -> backgroundTasks.submit(
+
+                            () -> storage.jobPosts().findPage(after, limit), onLoaded, onFailure),
+
+                    "No Jobs Posted Yet.");
+
+            jobListWindows.addTableModelListener(e -> updateJobListRowsLabel());
+
+        }
+
+        if (jobListTable.getModel() != jobListWindows) {
+
+            installTableModel(jobListTable, jobListWindows, this::configureJobListColumns);
+
+        }
+
+        jobListPreviousButton.setEnabled(true);
+
+        jobListNextButton.setEnabled(true);
+
+        // The viewport has its final size once the card is laid out
+
+        SwingUtilities.invokeLater(this::updateJobListWindows);
+
+    }
+
+    /**
+     * 
+     * Tells the scrolling list which rows are in view so it loads them.
+     * 
+     */
+
+    private void updateJobListWindows() {
+
+        if (jobListWindows == null || jobListTable.getModel() != jobListWindows) {
+
+            return;
+
+        }
+
+        Rectangle view = jobListTable.getVisibleRect();
+
+        int first = jobListTable.rowAtPoint(view.getLocation());
+
+        int last = jobListTable.rowAtPoint(new Point(view.x, view.y + view.height - 1));
+
+        jobListWindows.ensureVisible(Math.max(0, first), last < 0 ? jobListTable.getRowCount() - 1 : last);
+
+        updateJobListRowsLabel();
+
+    }
+
+    private void updateJobListRowsLabel() {
+
+        if (jobListWindows == null || jobListTable.getModel() != jobListWindows) {
+
+            return;
+
+        }
+
+        Rectangle view = jobListTable.getVisibleRect();
+
+        int first = jobListTable.rowAtPoint(view.getLocation());
+
+        int last = jobListTable.rowAtPoint(new Point(view.x, view.y + view.height - 1));
+
+        int rows = jobListWindows.getRowCount();
+
+        if (first < 0 || jobListWindows.isEmpty()) {
+
+            jobListPageLabel.setText("");
+
+            return;
+
+        }
+
+        jobListPageLabel.setText("POSTS " + (first + 1) + "-" + (last < 0 ? rows : last + 1) + " OF " + rows
+
+                + (jobListWindows.isComplete() ? "" : "+"));
+
+    }
+
+    /**
+     * 
+     * PREVIOUS / NEXT: scrolls the job list up (-1) or down (1) by one screen.
+     * 
+     */
+
+    private void scrollJobList(int direction) {
+
+        JScrollBar bar = jobListScrollPane.getVerticalScrollBar();
+
+        bar.setValue(bar.getValue() + direction * bar.getBlockIncrement(direction));
+
+    }
+
+    /**
+     * 
+     * Takes posts that just passed their deadline off the Job List table in
+     * place, keeping the rest of the page and the scroll position.
+     * 
+     */
+
+    private void removeExpiredJobRows(IntHashSet expired) {
+
+        if (jobListTable != null && jobListTable.getModel() instanceof ColumnarTableModel model) {
+
+            model.removeRows(expired);
+
+        }
+
+        if (jobListWindows != null) {
+
+            jobListWindows.removeRows(expired);
+
+        }
+
+    }
+
+    /**
+     * 
+     * Replaces the Job List table contents with the given posts (runs on the EDT).
+     * 
+     */
+
+    private void fillJobListTable(java.util.List<JobPost> posts, String emptyMessage) {
+
+        showTableRows(jobListTable, posts, jobListColumns(), emptyMessage, this::configureJobListColumns);
+
+    }
+
+    /**
+     * 
+     * Shows rows in a table. If the table already holds a ColumnarTableModel with
+     * 
+     * these columns, the rows are diffed into it by id, so a refresh after a small
+     * 
+     * change only touches the rows that changed and keeps the selection and the
+     * 
+     * scroll position; otherwise a new model is installed.
+     * 
+     */
+
+    private <T> void showTableRows(JTable table, java.util.List<? extends T> rows,
+
+            java.util.List<ColumnarTableModel.Column<T>> columns, String emptyMessage, Runnable configureColumns) {
+
+        if (table.getModel() instanceof ColumnarTableModel model && model.hasColumns(columns)) {
+
+            model.update(rows, columns, emptyMessage);
+
+            return;
+
+        }
+
+        installTableModel(table, ColumnarTableModel.of(rows, columns, emptyMessage), configureColumns);
+
+    }
+
+    /**
+     * 
+     * Sets a table's model. The first time, the columns are created from it and
+     * 
+     * configured; later models (which have the same columns) keep them, with
+     * 
+     * their widths, renderers and editors.
+     * 
+     */
+
+    private void installTableModel(JTable table, javax.swing.table.TableModel model, Runnable configureColumns) {
+
+        table.setModel(model);
+
+        if (table.getAutoCreateColumnsFromModel()) {
+
+            configureColumns.run();
+
+            table.setAutoCreateColumnsFromModel(false);
+
+        }
+
+    }
+
+    private static void hideIdColumn(JTable table) {
+
+        table.getColumnModel().getColumn(0).setMaxWidth(0);
+
+        table.getColumnModel().getColumn(0).setMinWidth(0);
+
+        table.getColumnModel().getColumn(0).setPreferredWidth(0);
+
+    }
+
+    /**
+     * 
+     * The Job List columns. The ID column is often hidden in real apps, but useful
+     * 
+     * for logic. The Apply column is read from appliedJobIds on every paint, so
+     * 
+     * applying or withdrawing shows up without reloading the list.
+     * 
+     */
+
+    private java.util.List<ColumnarTableModel.Column<JobPost>> jobListColumns() {
+
+        return java.util.List.of(
+
+                ColumnarTableModel.intColumn("ID", JobPost::id),
+
+                ColumnarTableModel.textColumn("JOB TITLE", JobPost::jobTitle),
+
+                // Full text loads when the row is selected
+
+                ColumnarTableModel.textColumn("JOB DESCRIPTION", post -> previewText(post.jobDescription())),
+
+                ColumnarTableModel.textColumn("EMPLOYER NAME", JobPost::employerName),
+
+                ColumnarTableModel.textColumn("COURSE and SKILLS", post -> previewText(post.skillsRequired())),
+
+                ColumnarTableModel.textColumn("JOB LOCATION", JobPost::jobLocation),
+
+                ColumnarTableModel.textColumn("CONTACT NUMBER", JobPost::contactNumber),
+
+                ColumnarTableModel.textColumn("POSTING DEADLINE", JobPost::postingDeadline),
+
+                ColumnarTableModel.dateColumn("POSTING DATE", JobPost::postingDate),
+
+                ColumnarTableModel.actionColumn("APPLY", jobId -> jobId > 0 ? applyLabel(jobId) : null));
+
+    }
+
+    private void configureJobListColumns() {
+
+        hideIdColumn(jobListTable);
+
+        // Set renderers/editors for the last column to make it look and act like a
+
+        // button
+
+        int applyColumn = jobListTable.getColumnCount() - 1;
+
+        jobListTable.getColumnModel().getColumn(applyColumn).setCellRenderer(new ButtonRenderer());
+
+        jobListTable.getColumnModel().getColumn(applyColumn)
+
+                .setCellEditor(new ButtonEditor(new JTextField()));
+
+    }
+
+    /**
+     * 
+     * Shows the posts matching the search box (every word must match; the last
+     * 
+     * one may be a prefix), or goes back to the paged list when it is cleared.
+     * 
+     * The index lives in memory, so this runs on the EDT.
+     * 
+     */
+
+    private void runJobSearch() {
+
+        String query = jobSearchField.getText().trim();
+
+        if (query.isEmpty()) {
+
+            if (showingSearchResults) {
+
+                showingSearchResults = false;
+
+                jobListWindows = null;
+
+                refreshJobListAndShow();
+
+            }
+
+            return;
+
+        }
+
+        showingSearchResults = true;
+
+        showingBestMatches = false;
+
+        jobListPreviousButton.setEnabled(false);
+
+        jobListNextButton.setEnabled(false);
+
+        if (!searchIndex.isReady()) {
+
+            fillJobListTable(java.util.List.of(), "Preparing search, please wait...");
+
+            jobListPageLabel.setText("SEARCH");
+
+            ensureSearchIndex(); // Re-runs this search when the index is ready
+
+            return;
+
+        }
+
+        JobSearchIndex.Result result = searchIndex.search(query, currentFacetSelection(), JOB_LIST_PAGE_SIZE);
+
+        fillJobListTable(result.posts(), "No job posts match your search.");
+
+        jobListPageLabel.setText((result.more() ? "FIRST " : "") + result.posts().size() + " MATCHES");
+
+        ensureSearchIndex();
+
+    }
+
+    /**
+     * 
+     * Shows the first page of the posts passing the location and employer filters.
+     * 
+     */
+
+    private void showFilteredJobs(JobSearchIndex.Filtered filtered) {
+
+        showingSearchResults = false;
+
+        showingBestMatches = false;
+
+        jobListPreviousButton.setEnabled(false);
+
+        jobListNextButton.setEnabled(false);
+
+        fillJobListTable(filtered.posts(), "No job posts match these filters.");
+
+        int shown = filtered.posts().size();
+
+        String prefix = filtered.total() > shown ? "FIRST " + shown + " OF " : "";
+
+        jobListPageLabel.setText(prefix + filtered.total() + " POSTS");
+
+    }
+
+    /**
+     * 
+     * Called when the user changes a filter: re-runs the search if there is one,
+     * 
+     * otherwise shows the filtered (or, with nothing selected, the paged) list.
+     * 
+     */
+
+    private void applyFacetFilter() {
+
+        showingBestMatches = false;
+
+        if (jobSearchField.getText().isBlank()) {
+
+            jobListWindows = null;
+
+        }
+
+        refreshJobListAndShow();
+
+    }
+
+    private JobFacets.Selection currentFacetSelection() {
+
+        return new JobFacets.Selection(selectedFacetValues(locationFacetList), selectedFacetValues(employerFacetList));
+
+    }
+
+    private static java.util.Set<String> selectedFacetValues(JList<JobFacets.Count> list) {
+
+        java.util.Set<String> values = new java.util.HashSet<>();
+
+        for (JobFacets.Count count : list.getSelectedValuesList()) {
+
+            values.add(count.value());
+
+        }
+
+        return values;
+
+    }
 
-        if (username.isEmpty() || password.isEmpty() || rePassword.isEmpty()) {
+    private void clearFacetSelection() {
 
-            JOptionPane.showMessageDialog(this, "Please fill in all fields.", "Error", JOptionPane.ERROR_MESSAGE);
+        updatingFacetLists = true;
 
-            return;
+        try {
 
-        }
+            locationFacetList.clearSelection();
 
-        if (!password.equals(rePassword)) {
+            employerFacetList.clearSelection();
 
-            JOptionPane.showMessageDialog(this, "Passwords do not match.", "Error", JOptionPane.ERROR_MESSAGE);
+        } finally {
 
-            return;
+            updatingFacetLists = false;
 
         }
 
-        // Basic Validation
-
-        if (password.length() < 8 || username.length() < 6) {
+        if (searchIndex.isReady()) {
 
-            JOptionPane.showMessageDialog(this,
+            updateFacetLists(searchIndex.filter(JobFacets.Selection.NONE, 0));
 
-                    "Password must be at least 8 Characters and Username at least 6 Characters.", "Error",
+        }
 
-                    JOptionPane.ERROR_MESSAGE);
+    }
 
-            return;
+    /**
+     * 
+     * Refills both filter lists with fresh counts, keeping what was selected.
+     * 
+     */
 
-        }
+    private void updateFacetLists(JobSearchIndex.Filtered filtered) {
 
-        String sql = "INSERT INTO users (username, password_hash) VALUES (?, ?)";
+        updatingFacetLists = true;
 
-        try (Connection conn = connect();
+        try {
 
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            refillFacetList(locationFacetList, filtered.locations());
 
-            // NOTE: In a real application, you must use a strong hashing library!
+            refillFacetList(employerFacetList, filtered.employers());
 
-            String hashedPassword = password;
+        } finally {
 
-            pstmt.setString(1, username);
+            updatingFacetLists = false;
 
-            pstmt.setString(2, hashedPassword);
+        }
 
-            pstmt.executeUpdate();
+    }
 
-            JOptionPane.showMessageDialog(this, "Account Created Successfully! You can now Log In.", "Account Saved",
+    private static void refillFacetList(JList<JobFacets.Count> list, java.util.List<JobFacets.Count> counts) {
 
-                    JOptionPane.INFORMATION_MESSAGE);
+        java.util.Set<String> selected = selectedFacetValues(list);
 
-            clearCreateFields();
+        DefaultListModel<JobFacets.Count> model = new DefaultListModel<>();
 
-            cardLayout.show(mainPanel, HOME);
+        model.addAll(counts);
 
-        } catch (SQLIntegrityConstraintViolationException ex) {
+        list.setModel(model);
 
-            JOptionPane.showMessageDialog(this,
+        int[] indices = new int[selected.size()];
 
-                    "Username '" + username + "' Already Exists. Please choose a different one.", "Error",
+        int found = 0;
 
-                    JOptionPane.ERROR_MESSAGE);
+        for (int i = 0; i < counts.size() && found < indices.length; i++) {
 
-        } catch (SQLException ex) {
+            if (selected.contains(counts.get(i).value())) {
 
-            JOptionPane.showMessageDialog(this, "Database error: " + ex.getMessage(), "Error",
+                indices[found++] = i;
 
-                    JOptionPane.ERROR_MESSAGE);
+            }
 
         }
 
+        list.setSelectedIndices(java.util.Arrays.copyOf(indices, found));
+
     }
 
     /**
-     * * Handles the Log-In logic (Step 4) with case-sensitive username check.
+     * 
+     * Lists the posts whose required skills best overlap the education and skills
+     * 
+     * the user gave on their applications, best match first. The profile is read
+     * 
+     * once per session and again after each new application.
+     * 
      */
-    private void handleLogin(ActionEvent e) {
-        String enteredUsername = loginUsernameField.getText().trim();
-        String password = new String(loginPasswordField.getPassword());
 
-        if (enteredUsername.isEmpty() || password.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Please Enter Username and Password.", "Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+    private void showBestMatches() {
 
-        // Retrieve the stored username (with its original case) and password hash
-        // The WHERE clause here must only use the column name that stores the username.
-        // If your database is configured to do a case-insensitive search here, it will
-        // find the user.
-        // We will then check the case-sensitivity in the Java code below.
-        String sql = "SELECT username, password_hash FROM users WHERE username = ?";
+        showingBestMatches = true;
 
-        try (Connection conn = connect();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        jobListPreviousButton.setEnabled(false);
 
-            // Use the entered username for the database lookup
-            pstmt.setString(1, enteredUsername);
+        jobListNextButton.setEnabled(false);
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    // User found (possibly case-insensitively by the database)
+        jobListPageLabel.setText("BEST MATCHES");
 
-                    String storedUsername = rs.getString("username");
-                    String storedPasswordHash = rs.getString("password_hash");
+        if (applicantProfile == null) {
 
-                    // --- 1. **CRITICAL CHANGE:** Check if the entered username exactly matches the
-                    // stored username (case-sensitively) ---
-                    if (!enteredUsername.equals(storedUsername)) {
-                        // This handles the case where the database found "UserA" for an input of
-                        // "usera".
-                        // The storedUsername is "UserA", enteredUsername is "usera". They are NOT
-                        // .equals()
+            String username = loggedInUsername;
 
-                        JOptionPane.showMessageDialog(this,
-                                "Wrong Username or Account Not Exist.", "Login Failed",
-                                JOptionPane.ERROR_MESSAGE);
-                        return; // Stop the login process
-                    }
+            runInBackground(() -> storage.applications().findByApplicant(username), applied -> {
 
-                    // --- 2. User exists with the correct case, now check password ---
+                StringBuilder profile = new StringBuilder();
 
-                    // Assuming `password.equals(storedPasswordHash)` is where you'd normally verify
-                    // the password (e.g., using BCrypt.checkpw)
-                    if (password.equals(storedPasswordHash)) {
+                for (AppliedJob job : applied) {
+
+                    profile.append(job.application().educationSkills()).append('\n');
 
-                        loggedInUsername = enteredUsername;
-                        clearLoginFields();
-                        cardLayout.show(mainPanel, DASHBOARD); // Step 6: Go to Dashboard
-                    } else {
-                        // Password incorrect for existing user
-                        JOptionPane.showMessageDialog(this, "Incorrect Password.", "Login Failed",
-                                JOptionPane.ERROR_MESSAGE);
-                    }
-                } else {
-                    // --- User does NOT exist (even case-insensitively) ---
-                    JOptionPane.showMessageDialog(this,
-                            "Wrong username or Account not exist.", "Login Failed",
-                            JOptionPane.ERROR_MESSAGE);
                 }
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Database Error during Log-In: " + ex.getMessage(), "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
-    }
 
-    /**
-     * 
-     * Refreshes the Job List table and switches to the Job List screen (Step 6).
-     * 
-     */
+                if (username.equals(loggedInUsername)) {
 
-    private void refreshJobListAndShow() {
+                    applicantProfile = profile.toString();
 
-        String sql = "SELECT id, job_title, job_description, employer_name, skills_required, job_location, contact_number, posting_deadline, posting_date FROM job_posts";
+                    if (showingBestMatches) {
 
-        Vector<Vector<Object>> data = new Vector<>();
+                        showBestMatches();
 
-        Vector<String> columnNames = new Vector<>();
+                    }
 
-        columnNames.addAll(java.util.Arrays.asList("ID", "JOB TITLE", "JOB DESCRIPTION", "EMPLOYER NAME",
+                }
 
-                "COURSE and SKILLS", "JOB LOCATION", "CONTACT NUMBER", "POSTING DEADLINE", "POSTING DATE",
+            }, ex -> JOptionPane.showMessageDialog(this, "Error loading your skills: " + ex.getMessage(),
 
-                "APPLY"));
+                    "Database Error", JOptionPane.ERROR_MESSAGE));
 
-        try (Connection conn = connect();
+            return;
 
-                PreparedStatement pstmt = conn.prepareStatement(sql);
+        }
 
-                ResultSet rs = pstmt.executeQuery()) {
+        if (applicantProfile.isBlank()) {
 
-            while (rs.next()) {
+            fillJobListTable(java.util.List.of(),
 
-                Vector<Object> row = new Vector<>();
+                    "Apply to a job first; the skills you enter are matched against every post.");
 
-                int jobId = rs.getInt("id");
+            return;
 
-                // Check if user has already applied to this job
+        }
 
-                String applyStatus = hasUserApplied(loggedInUsername, jobId) ? "APPLIED" : "Apply";
+        if (!searchIndex.isReady()) {
 
-                row.add(jobId); // ID (Often hidden in real apps, but useful for logic)
+            fillJobListTable(java.util.List.of(), "Preparing matches, please wait...");
 
-                row.add(rs.getString("job_title"));
+            ensureSearchIndex(); // Re-runs this when the index is ready
 
-                row.add(rs.getString("job_description"));
+            return;
 
-                row.add(rs.getString("employer_name"));
+        }
 
-                row.add(rs.getString("skills_required"));
+        fillJobListTable(searchIndex.bestMatches(applicantProfile, JOB_LIST_PAGE_SIZE),
 
-                row.add(rs.getString("job_location"));
+                "No job post asks for your skills yet.");
 
-                row.add(rs.getString("contact_number"));
+        ensureSearchIndex();
 
-                row.add(rs.getString("posting_deadline"));
+    }
 
-                row.add(rs.getDate("posting_date").toString());
+    /**
+     * 
+     * Builds the search index in the background the first time it is needed, then
+     * 
+     * catches it up with posts written by other GJMS instances whenever it is older
+     * 
+     * than JOB_SEARCH_REFRESH_MS. Posts written here are added directly by the
+     * 
+     * handlers. A search or ranking on screen is re-run once the work finishes.
+     * 
+     */
 
-                row.add(applyStatus); // The dynamic "Apply" button column
+    private void ensureSearchIndex() {
 
-                data.add(row);
+        if (searchIndexUpdating || (searchIndex.isReady() && !searchIndex.isOlderThan(JOB_SEARCH_REFRESH_MS))) {
 
-            }
+            return;
 
-            // If no jobs, show prompt
+        }
 
-            if (data.isEmpty()) {
+        searchIndexUpdating = true;
 
-                data.add(createEmptyRow(columnNames.size(), "No Jobs Posted Yet."));
+        boolean firstBuild = !searchIndex.isReady();
 
-            }
-            // The JTable needs a Model
+        // Not runInBackground: indexing must not block the screen with the loading pane
 
-            jobListTable.setModel(new javax.swing.table.DefaultTableModel(data, columnNames) {
+        backgroundTasks.submit(() -> {
 
-                // Ensure the 'Apply' column is not editable in the sense of text entry
+            if (firstBuild) {
 
-                @Override
+                searchIndex.build(storage.jobPosts());
 
-                public boolean isCellEditable(int row, int column) {
+            } else {
 
-                    return column == columnNames.size() - 1; // Only the last column (Apply button) is logically
+                searchIndex.refresh(storage.jobPosts());
 
-                    // "editable" by click
+            }
 
-                }
+            return null;
 
-            });
+        }, done -> {
 
-            // Hide the ID column
+            searchIndexUpdating = false;
 
-            jobListTable.getColumnModel().getColumn(0).setMaxWidth(0);
+            JobFacets.Selection selection = currentFacetSelection();
 
-            jobListTable.getColumnModel().getColumn(0).setMinWidth(0);
+            JobSearchIndex.Filtered filtered = searchIndex.filter(selection, JOB_LIST_PAGE_SIZE);
 
-            jobListTable.getColumnModel().getColumn(0).setPreferredWidth(0);
+            updateFacetLists(filtered);
 
-            // Set renderers/editors for the last column to make it look and act like a
+            if (showingSearchResults) {
 
-            // button
+                runJobSearch();
 
-            jobListTable.getColumnModel().getColumn(columnNames.size() - 1).setCellRenderer(new ButtonRenderer());
+            } else if (showingBestMatches) {
 
-            jobListTable.getColumnModel().getColumn(columnNames.size() - 1)
+                showBestMatches();
 
-                    .setCellEditor(new ButtonEditor(new JTextField()));
+            } else if (!selection.isEmpty()) {
 
-        } catch (SQLException ex) {
+                showFilteredJobs(filtered);
 
-            JOptionPane.showMessageDialog(this, "Database error loading job posts: " + ex.getMessage(), "Error",
+            }
 
-                    JOptionPane.ERROR_MESSAGE);
+        }, ex -> {
 
-        }
+            searchIndexUpdating = false;
 
-        cardLayout.show(mainPanel, JOB_LIST);
+            if ((showingSearchResults || showingBestMatches) && !searchIndex.isReady()) {
+
+                fillJobListTable(java.util.List.of(), "Search is unavailable: " + ex.getMessage());
+
+            }
+
+        });
 
     }
 
     /**
      * 
-     * Helper to check if a user has applied to a specific job.
+     * Shows the full description and skills of the selected job (a click on APPLY
+     * 
+     * selects the row too). Repeat selections are served by the storage cache.
      * 
      */
 
-    private boolean hasUserApplied(String username, int jobId) {
+    private void showSelectedJobDetails() {
+
+        int selectedRow = jobListTable.getSelectedRow();
+
+        Object idValue = selectedRow < 0 ? null
 
-        String sql = "SELECT COUNT(*) FROM job_applications WHERE username = ? AND job_id = ?";
+                : jobListTable.getModel().getValueAt(jobListTable.convertRowIndexToModel(selectedRow), 0);
 
-        try (Connection conn = connect();
+        if (!(idValue instanceof Integer jobId) || jobId <= 0) {
 
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            jobDetailsJobId = 0;
 
-            pstmt.setString(1, username);
+            jobDetailsArea.setText("");
 
-            pstmt.setInt(2, jobId);
+            return;
+
+        }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
+        String jobTitle = String.valueOf(jobListTable.getValueAt(selectedRow, 1));
 
-                if (rs.next()) {
+        jobDetailsJobId = jobId;
 
-                    return rs.getInt(1) > 0;
+        runInBackground(() -> storage.jobPosts().findDetails(jobId), details -> {
 
-                }
+            if (jobDetailsJobId != jobId) {
+
+                return; // Another row was selected meanwhile
 
             }
 
-        } catch (SQLException ex) {
+            jobDetailsArea.setText(details.map(d -> jobTitle + "\n\nJOB DESCRIPTION:\n" + d.jobDescription()
 
-            ex.printStackTrace(); // Log but don't stop the main process
+                    + "\n\nCOURSE and SKILLS:\n" + d.skillsRequired()).orElse("This job post no longer exists."));
 
-        }
+            jobDetailsArea.setCaretPosition(0);
 
-        return false;
+        }, ex -> jobDetailsArea.setText("Could not load job details: " + ex.getMessage()));
 
     }
 
@@ -1684,45 +2837,31 @@ public class GJMS2 extends JFrame {
 
     private void loadApplicationData(int jobId) {
 
-        String sql = "SELECT * FROM job_applications WHERE username = ? AND job_id = ?";
-
-        try (Connection conn = connect();
-
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        String username = loggedInUsername;
 
-            pstmt.setString(1, loggedInUsername);
+        runInBackground(() -> storage.applications().find(username, jobId), application -> {
 
-            pstmt.setInt(2, jobId);
+            if (application.isPresent()) {
 
-            try (ResultSet rs = pstmt.executeQuery()) {
+                applyFullNameField.setText(application.get().fullName());
 
-                if (rs.next()) {
+                applyAgeField.setText(String.valueOf(application.get().age()));
 
-                    applyFullNameField.setText(rs.getString("full_name"));
+                applyContactNumberField.setText(application.get().contactNumber());
 
-                    applyAgeField.setText(String.valueOf(rs.getInt("age")));
+                applyEmailField.setText(application.get().email());
 
-                    applyContactNumberField.setText(rs.getString("contact_number"));
+                applyEducationSkillsArea.setText(application.get().educationSkills());
 
-                    applyEmailField.setText(rs.getString("email"));
-
-                    applyEducationSkillsArea.setText(rs.getString("education_skills"));
-
-                } else {
-
-                    clearApplyFields(); // Should not happen if 'APPLIED' is correct
+            } else {
 
-                }
+                clearApplyFields(); // Should not happen if 'APPLIED' is correct
 
             }
 
-        } catch (SQLException ex) {
-
-            JOptionPane.showMessageDialog(this, "Error loading application data: " + ex.getMessage(), "DB Error",
-
-                    JOptionPane.ERROR_MESSAGE);
+        }, ex -> JOptionPane.showMessageDialog(this, "Error loading application data: " + ex.getMessage(),
 
-        }
+                "DB Error", JOptionPane.ERROR_MESSAGE));
 
     }
 
@@ -1777,45 +2916,70 @@ public class GJMS2 extends JFrame {
             return;
         }
 
-        // Use an UPSERT (INSERT OR REPLACE) strategy for applications.
-        String sql = "REPLACE INTO job_applications (job_id, username, full_name, age, contact_number, email, education_skills) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = connect();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            // Set the parameters for the SQL statement
-            pstmt.setInt(1, selectedJobIdToApply);
-            pstmt.setString(2, loggedInUsername);
-            pstmt.setString(3, fullName);
-            pstmt.setInt(4, age);
-            pstmt.setString(5, contactNumber);
-            pstmt.setString(6, email);
-            pstmt.setString(7, educationSkills);
-
-            // 3. Execute the statement
-            int rowsAffected = pstmt.executeUpdate();
+        int jobId = selectedJobIdToApply;
+        JobApplication application = new JobApplication(jobId, loggedInUsername, fullName, age,
+                contactNumber, email, educationSkills, null);
 
+        // 3. Upsert the application; the job's application count is kept exact in the same transaction
+        runInBackground(() -> storage.applications().upsert(application), saved -> {
             // 4. Success feedback and navigation
-            if (rowsAffected > 0) {
-                JOptionPane.showMessageDialog(this, "Application successfully submitted!", "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
+            if (saved) {
+                appliedJobIds.add(jobId);
+
+                applicantProfile = null; // The new application may name new skills
+                if (storage.applications().savesLater()) {
+                    // Only queued so far; applicationRejected speaks up if the write is refused
+                    JOptionPane.showMessageDialog(this, "Application received. It will be saved shortly.",
+                            "Application Received", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this, "Application successfully submitted!", "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                }
 
                 // Clear fields and navigate back to the job list
                 clearApplyFields();
                 refreshJobListAndShow(); // Reload job list to show "APPLIED" status
             } else {
-                JOptionPane.showMessageDialog(this, "Failed to submit application. Please try again.", "Error",
+                JOptionPane.showMessageDialog(this, "This job post no longer exists.", "Error",
                         JOptionPane.ERROR_MESSAGE);
             }
-
-        } catch (SQLException ex) {
+        }, ex -> {
             // Detailed database error handling
             JOptionPane.showMessageDialog(this,
                     "Database error during application submission: " + ex.getMessage(),
                     "Database Error",
                     JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
+        });
+    }
+
+    /**
+     * 
+     * Tells the logged-in user that a queued application of theirs could not be
+     * saved (reason), and shows APPLY on the job again.
+     * 
+     */
+
+    private void applicationRejected(JobApplication application, String reason) {
+
+        if (loggedInUsername == null || !loggedInUsername.equalsIgnoreCase(application.username())) {
+
+            return; // Submitted before a log-out
+
+        }
+
+        appliedJobIds.remove(application.jobId());
+
+        if (jobListTable != null) {
+
+            jobListTable.repaint();
+
         }
+
+        JOptionPane.showMessageDialog(this, "Your application could not be saved: " + reason.lines().findFirst()
+
+                .orElse("") + "\nPlease apply again.", "Application Not Saved", JOptionPane.ERROR_MESSAGE);
+
     }
 
     /**
@@ -1840,11 +3004,11 @@ public class GJMS2 extends JFrame {
 
         String contactNumber = contactNumberField.getText().trim();
 
-        String deadline = postingDeadlineArea.getText().trim(); // YYYY-MM-DD format expected
+        String deadlineText = postingDeadlineArea.getText().trim();
 
         if (jobTitle.isEmpty() || jobDescription.isEmpty() || employerName.isEmpty() || skillsRequired.isEmpty()
 
-                || jobLocation.isEmpty() || contactNumber.isEmpty() || deadline.isEmpty()) {
+                || jobLocation.isEmpty() || contactNumber.isEmpty() || deadlineText.isEmpty()) {
 
             JOptionPane.showMessageDialog(this, "Please fill in all fields to create a job post.", "Error",
 
@@ -1854,29 +3018,45 @@ public class GJMS2 extends JFrame {
 
         }
 
-        String sql = "INSERT INTO job_posts (job_title, job_description, employer_name, skills_required, job_location, contact_number, posting_deadline, creator_username) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        // The deadline is stored as a date so the post can expire after it
+
+        java.util.Optional<LocalDate> deadline = JobPost.parseDeadline(deadlineText);
+
+        if (deadline.isEmpty()) {
+
+            JOptionPane.showMessageDialog(this, "Enter the deadline as YYYY-MM-DD (for example "
+
+                    + expiryScheduler.today().plusDays(30) + ").", "Error", JOptionPane.ERROR_MESSAGE);
+
+            return;
+
+        }
+
+        if (deadline.get().isBefore(expiryScheduler.today())) {
+
+            JOptionPane.showMessageDialog(this, "The posting deadline has already passed.", "Error",
 
-        try (Connection conn = connect();
+                    JOptionPane.ERROR_MESSAGE);
 
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            return;
 
-            pstmt.setString(1, jobTitle);
+        }
 
-            pstmt.setString(2, jobDescription);
+        JobPost draft = JobPost.draft(jobTitle, jobDescription, employerName, skillsRequired, jobLocation,
 
-            pstmt.setString(3, employerName);
+                contactNumber, deadline.get(), loggedInUsername);
 
-            pstmt.setString(4, skillsRequired);
+        // The index is updated on the worker too, so a post with many terms does not hold up the screen
 
-            pstmt.setString(5, jobLocation);
+        runInBackground(() -> {
 
-            pstmt.setString(6, contactNumber);
+            JobPost created = storage.jobPosts().create(draft);
 
-            pstmt.setString(7, deadline); // Date validation is basic here
+            searchIndex.add(created);
 
-            pstmt.setString(8, loggedInUsername);
+            return created;
 
-            pstmt.executeUpdate();
+        }, created -> {
 
             JOptionPane.showMessageDialog(this, "Job Created Successfully!", "Success",
 
@@ -1884,15 +3064,11 @@ public class GJMS2 extends JFrame {
 
             clearCreateJobFields();
 
-            cardLayout.show(mainPanel, DASHBOARD);
-
-        } catch (SQLException ex) {
+            showScreen(DASHBOARD);
 
-            JOptionPane.showMessageDialog(this, "Database Error during Job Creation: " + ex.getMessage(), "Error",
-
-                    JOptionPane.ERROR_MESSAGE);
+        }, ex -> JOptionPane.showMessageDialog(this, "Database Error during Job Creation: " + ex.getMessage(),
 
-        }
+                "Error", JOptionPane.ERROR_MESSAGE));
 
     }
 
@@ -1903,43 +3079,21 @@ public class GJMS2 extends JFrame {
      */
     private void showApplicantsForJob(int jobId, String jobTitle) {
         // --- 1. Fetch Applicant Data ---
-        Vector<Vector<Object>> data = new Vector<>();
-        Vector<String> columnNames = new Vector<>();
-        columnNames.add("Full Name");
-        columnNames.add("Age");
-        columnNames.add("Contact");
-        columnNames.add("Email");
-        columnNames.add("Education & Skills");
-        columnNames.add("Applied Date");
-
-        String sql = "SELECT full_name, age, contact_number, email, education_skills, application_date FROM job_applications WHERE job_id = ?";
-
-        try (Connection conn = connect();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, jobId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Vector<Object> row = new Vector<>();
-                    row.add(rs.getString("full_name"));
-                    row.add(rs.getInt("age"));
-                    row.add(rs.getString("contact_number"));
-                    row.add(rs.getString("email"));
-                    row.add(rs.getString("education_skills"));
-                    row.add(rs.getTimestamp("application_date").toString());
-                    data.add(row);
-                }
-            }
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Error loading applicants: " + ex.getMessage(), "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
-            return;
-        }
+        runInBackground(() -> storage.applications().findByJob(jobId),
+                applicants -> showApplicantsWindow(jobTitle, applicants),
+                ex -> {
+                    JOptionPane.showMessageDialog(this, "Error loading applicants: " + ex.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                });
+    }
 
+    /**
+     * * Builds and shows the applicants window from the fetched applications.
+     */
+    private void showApplicantsWindow(String jobTitle, java.util.List<JobApplication> applicants) {
         // Check if there are no applicants
-        if (data.isEmpty()) {
+        if (applicants.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No Applicants have Applied for the Job: " + jobTitle, "No Applicants",
                     JOptionPane.INFORMATION_MESSAGE);
             return;
@@ -1951,7 +3105,15 @@ public class GJMS2 extends JFrame {
         applicantFrame.setLocationRelativeTo(this); // Center relative to main frame
         applicantFrame.getContentPane().setBackground(BG_COLOR);
 
-        JTable applicantTable = new JTable(data, columnNames);
+        java.util.List<ColumnarTableModel.Column<JobApplication>> columns = java.util.List.of(
+                ColumnarTableModel.textColumn("Full Name", JobApplication::fullName),
+                ColumnarTableModel.intColumn("Age", JobApplication::age),
+                ColumnarTableModel.textColumn("Contact", JobApplication::contactNumber),
+                ColumnarTableModel.textColumn("Email", JobApplication::email),
+                ColumnarTableModel.textColumn("Education & Skills", JobApplication::educationSkills),
+                ColumnarTableModel.timestampColumn("Applied Date", JobApplication::applicationDate));
+
+        JTable applicantTable = new JTable(ColumnarTableModel.of(applicants, columns, null));
         applicantTable.getTableHeader().setFont(TEXT_FONT.deriveFont(Font.BOLD));
         applicantTable.setFont(TEXT_FONT.deriveFont(12f));
         applicantTable.setRowHeight(25);
@@ -1985,214 +3147,92 @@ public class GJMS2 extends JFrame {
     /**
      * 
      * Refreshes the Applied Jobs table and switches to the screen (Step 8).
-     * 
-     */
-
-    private void refreshAppliedJobsAndShow() {
-
-        String sql = "SELECT ja.job_id, jp.job_title, jp.employer_name, ja.application_date, ja.full_name, ja.age, ja.contact_number, ja.email, ja.education_skills FROM job_applications ja JOIN job_posts jp ON ja.job_id = jp.id WHERE ja.username = ?";
-
-        Vector<Vector<Object>> data = new Vector<>();
-
-        Vector<String> columnNames = new Vector<>();
-
-        columnNames.addAll(java.util.Arrays.asList("JOB ID", "JOB TITLE", "EMPLOYER NAME", "APPLICATION DATE",
-
-                "FULL NAME", "AGE", "CONTACT", "EMAIL", "EDUCATION/SKILLS"));
-
-        try (Connection conn = connect();
-
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, loggedInUsername);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-
-                while (rs.next()) {
-
-                    Vector<Object> row = new Vector<>();
-
-                    row.add(rs.getInt("job_id"));
-
-                    row.add(rs.getString("job_title"));
-
-                    row.add(rs.getString("employer_name"));
-
-                    row.add(rs.getTimestamp("application_date").toString());
-
-                    row.add(rs.getString("full_name"));
-
-                    row.add(rs.getInt("age"));
-
-                    row.add(rs.getString("contact_number"));
-
-                    row.add(rs.getString("email"));
-
-                    row.add(rs.getString("education_skills"));
-
-                    data.add(row);
-
-                }
-
-            }
-
-            if (data.isEmpty()) {
-
-                data.add(createEmptyRow(columnNames.size(), "You have not applied to any jobs."));
-
-            }
-
-            appliedJobTable.setModel(new javax.swing.table.DefaultTableModel(data, columnNames) {
-
-                @Override
-
-                public boolean isCellEditable(int row, int column) {
-
-                    return false;
-
-                }
-
-            });
-
-            // Hide the ID column
-
-            appliedJobTable.getColumnModel().getColumn(0).setMaxWidth(0);
-
-            appliedJobTable.getColumnModel().getColumn(0).setMinWidth(0);
-
-            appliedJobTable.getColumnModel().getColumn(0).setPreferredWidth(0);
-
-        } catch (SQLException ex) {
-
-            JOptionPane.showMessageDialog(this, "Database error loading applied jobs: " + ex.getMessage(), "Error",
-
-                    JOptionPane.ERROR_MESSAGE);
-
-        }
-
-        cardLayout.show(mainPanel, VIEW_APPLIED);
-
-    }
-
-    /**
-     * 
-     * Refreshes the Created Jobs table and switches to the screen (Step 9).
-     * 
-     */
-
-    private void refreshCreatedJobsAndShow() {
-
-        String sql = "SELECT id, job_title, employer_name, posting_date FROM job_posts WHERE creator_username = ?";
-
-        Vector<Vector<Object>> data = new Vector<>();
-
-        Vector<String> columnNames = new Vector<>();
-
-        columnNames.addAll(
-
-                java.util.Arrays.asList("JOB ID", "JOB TITLE", "EMPLOYER NAME", "POSTING DATE", "APPLICATIONS"));
-
-        try (Connection conn = connect();
-
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, loggedInUsername);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-
-                while (rs.next()) {
-
-                    Vector<Object> row = new Vector<>();
-
-                    int jobId = rs.getInt("id");
-
-                    row.add(jobId);
-
-                    row.add(rs.getString("job_title"));
-
-                    row.add(rs.getString("employer_name"));
-
-                    row.add(rs.getDate("posting_date").toString());
-
-                    row.add(countApplications(jobId)); // Function to count applicants
+     * 
+     */
 
-                    data.add(row);
+    private void refreshAppliedJobsAndShow() {
 
-                }
+        String username = loggedInUsername;
 
-            }
+        showScreen(VIEW_APPLIED);
 
-            if (data.isEmpty()) {
+        runInBackground(() -> storage.applications().findByApplicant(username), this::showAppliedJobs,
 
-                data.add(createEmptyRow(columnNames.size(), "You have not created any job posts."));
+                ex -> JOptionPane.showMessageDialog(this, "Database error loading applied jobs: " + ex.getMessage(),
 
-            }
+                        "Error", JOptionPane.ERROR_MESSAGE));
 
-            createdJobTable.setModel(new javax.swing.table.DefaultTableModel(data, columnNames) {
+    }
 
-                @Override
+    private void showAppliedJobs(java.util.List<AppliedJob> appliedJobs) {
 
-                public boolean isCellEditable(int row, int column) {
+        java.util.List<ColumnarTableModel.Column<AppliedJob>> columns = java.util.List.of(
 
-                    return false;
+                ColumnarTableModel.intColumn("JOB ID", applied -> applied.application().jobId()),
 
-                }
+                ColumnarTableModel.textColumn("JOB TITLE", AppliedJob::jobTitle),
 
-            });
+                ColumnarTableModel.textColumn("EMPLOYER NAME", AppliedJob::employerName),
 
-            // Hide the ID column
+                ColumnarTableModel.timestampColumn("APPLICATION DATE",
 
-            createdJobTable.getColumnModel().getColumn(0).setMaxWidth(0);
+                        applied -> applied.application().applicationDate()),
 
-            createdJobTable.getColumnModel().getColumn(0).setMinWidth(0);
+                ColumnarTableModel.textColumn("FULL NAME", applied -> applied.application().fullName()),
 
-            createdJobTable.getColumnModel().getColumn(0).setPreferredWidth(0);
+                ColumnarTableModel.intColumn("AGE", applied -> applied.application().age()),
 
-        } catch (SQLException ex) {
+                ColumnarTableModel.textColumn("CONTACT", applied -> applied.application().contactNumber()),
 
-            JOptionPane.showMessageDialog(this, "Database error loading created jobs: " + ex.getMessage(), "Error",
+                ColumnarTableModel.textColumn("EMAIL", applied -> applied.application().email()),
 
-                    JOptionPane.ERROR_MESSAGE);
+                ColumnarTableModel.textColumn("EDUCATION/SKILLS", applied -> applied.application().educationSkills()));
 
-        }
+        showTableRows(appliedJobTable, appliedJobs, columns, "You have not applied to any jobs.",
 
-        cardLayout.show(mainPanel, VIEW_CREATED);
+                () -> hideIdColumn(appliedJobTable));
 
     }
 
     /**
      * 
-     * Helper to count applications for a job.
+     * Refreshes the Created Jobs table and switches to the screen (Step 9).
      * 
      */
 
-    private int countApplications(int jobId) {
+    private void refreshCreatedJobsAndShow() {
 
-        String sql = "SELECT COUNT(*) FROM job_applications WHERE job_id = ?";
+        String username = loggedInUsername;
 
-        try (Connection conn = connect();
+        showScreen(VIEW_CREATED);
 
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        runInBackground(() -> storage.jobPosts().findByCreator(username), this::showCreatedJobs,
 
-            pstmt.setInt(1, jobId);
+                ex -> JOptionPane.showMessageDialog(this, "Database error loading created jobs: " + ex.getMessage(),
 
-            try (ResultSet rs = pstmt.executeQuery()) {
+                        "Error", JOptionPane.ERROR_MESSAGE));
 
-                if (rs.next()) {
+    }
 
-                    return rs.getInt(1);
+    private void showCreatedJobs(java.util.List<JobPost> createdJobs) {
 
-                }
+        java.util.List<ColumnarTableModel.Column<JobPost>> columns = java.util.List.of(
 
-            }
+                ColumnarTableModel.intColumn("JOB ID", JobPost::id),
 
-        } catch (SQLException ex) {
+                ColumnarTableModel.textColumn("JOB TITLE", JobPost::jobTitle),
 
-            ex.printStackTrace();
+                ColumnarTableModel.textColumn("EMPLOYER NAME", JobPost::employerName),
 
-        }
+                ColumnarTableModel.dateColumn("POSTING DATE", JobPost::postingDate),
+
+                // Maintained alongside every application insert/delete
 
-        return 0;
+                ColumnarTableModel.intColumn("APPLICATIONS", JobPost::applicationCount));
+
+        showTableRows(createdJobTable, createdJobs, columns, "You have not created any job posts.",
+
+                () -> hideIdColumn(createdJobTable));
 
     }
 
@@ -2212,47 +3252,19 @@ public class GJMS2 extends JFrame {
 
         if (confirm == JOptionPane.YES_OPTION) {
 
-            try (Connection conn = connect()) {
-
-                conn.setAutoCommit(false); // Start transaction
-
-                // 1. Delete all job applications by this user
-
-                try (PreparedStatement stmt = conn
-
-                        .prepareStatement("DELETE FROM job_applications WHERE username = ?")) {
-
-                    stmt.setString(1, loggedInUsername);
-
-                    stmt.executeUpdate();
-
-                }
-
-                // 2. Delete all job posts created by this user (which will cascade delete their
-
-                // applications)
+            String username = loggedInUsername;
 
-                try (PreparedStatement stmt = conn
+            // Account, job posts and applications are removed together in one transaction
 
-                        .prepareStatement("DELETE FROM job_posts WHERE creator_username = ?")) {
+            runInBackground(() -> {
 
-                    stmt.setString(1, loggedInUsername);
+                storage.users().purge(username);
 
-                    stmt.executeUpdate();
+                searchIndex.removeCreator(username);
 
-                }
-
-                // 3. Delete the user account
-
-                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM users WHERE username = ?")) {
-
-                    stmt.setString(1, loggedInUsername);
+                return null;
 
-                    stmt.executeUpdate();
-
-                }
-
-                conn.commit(); // Commit the changes
+            }, done -> {
 
                 JOptionPane.showMessageDialog(this, "Your account has been successfully deleted.", "Success",
 
@@ -2260,27 +3272,17 @@ public class GJMS2 extends JFrame {
 
                 loggedInUsername = null;
 
-                cardLayout.show(mainPanel, HOME); // Go back to the main screen
-
-            } catch (SQLException ex) {
+                appliedJobIds = new IntHashSet();
 
-                try (Connection conn = connect()) {
+                applicantProfile = null;
 
-                    if (conn != null)
+                showScreen(HOME); // Go back to the main screen
 
-                        conn.rollback(); // Rollback on error
+            }, ex -> JOptionPane.showMessageDialog(this,
 
-                } catch (SQLException ignored) {
+                    "Error deleting account: " + ex.getMessage() + "\nDatabase operation failed.", "Error",
 
-                }
-
-                JOptionPane.showMessageDialog(this,
-
-                        "Error deleting account: " + ex.getMessage() + "\nDatabase operation failed.", "Error",
-
-                        JOptionPane.ERROR_MESSAGE);
-
-            }
+                    JOptionPane.ERROR_MESSAGE));
 
         }
 
@@ -2324,23 +3326,27 @@ public class GJMS2 extends JFrame {
 
             if (confirm == JOptionPane.YES_OPTION) {
 
-                // Delete the job post (Foreign key constraints should cascade delete
+                // Delete the job post together with its applications
 
-                // applications)
+                String username = loggedInUsername;
 
-                String sql = "DELETE FROM job_posts WHERE id = ? AND creator_username = ?";
+                runInBackground(() -> {
 
-                try (Connection conn = connect();
+                    boolean deleted = storage.jobPosts().delete(jobId, username);
 
-                        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    if (deleted) {
 
-                    pstmt.setInt(1, jobId);
+                        searchIndex.remove(jobId); // Off the EDT: the index waits for any search in progress
 
-                    pstmt.setString(2, loggedInUsername);
+                    }
+
+                    return deleted;
 
-                    int rowsAffected = pstmt.executeUpdate();
+                }, deleted -> {
 
-                    if (rowsAffected > 0) {
+                    if (deleted) {
+
+                        appliedJobIds.remove(jobId); // The post's applications were deleted with it
 
                         JOptionPane.showMessageDialog(this, "Job Post Deleted Successfully.", "Success",
 
@@ -2358,7 +3364,9 @@ public class GJMS2 extends JFrame {
 
                     }
 
-                }
+                }, ex -> JOptionPane.showMessageDialog(this, "Error processing delete: " + ex.getMessage(), "Error",
+
+                        JOptionPane.ERROR_MESSAGE));
 
             }
 
@@ -2408,19 +3416,15 @@ public class GJMS2 extends JFrame {
 
             if (confirm == JOptionPane.YES_OPTION) {
 
-                String sql = "DELETE FROM job_applications WHERE job_id = ? AND username = ?";
-
-                try (Connection conn = connect();
+                // The delete and the job's application count change commit together
 
-                        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                String username = loggedInUsername;
 
-                    pstmt.setInt(1, jobId);
+                runInBackground(() -> storage.applications().delete(jobId, username), deleted -> {
 
-                    pstmt.setString(2, loggedInUsername);
+                    if (deleted) {
 
-                    int rowsAffected = pstmt.executeUpdate();
-
-                    if (rowsAffected > 0) {
+                        appliedJobIds.remove(jobId);
 
                         JOptionPane.showMessageDialog(this, "Application withdrawn successfully.", "Success",
 
@@ -2436,7 +3440,9 @@ public class GJMS2 extends JFrame {
 
                     }
 
-                }
+                }, ex -> JOptionPane.showMessageDialog(this, "Error processing withdrawal: " + ex.getMessage(),
+
+                        "Error", JOptionPane.ERROR_MESSAGE));
 
             }
 
@@ -2503,6 +3509,82 @@ public class GJMS2 extends JFrame {
 
     }
 
+    /**
+     * 
+     * A list of filter values shown as "value (count)". Ctrl-click picks several.
+     * 
+     */
+
+    private JList<JobFacets.Count> createFacetList() {
+
+        JList<JobFacets.Count> list = new JList<>(new DefaultListModel<>());
+
+        list.setFont(TEXT_FONT.deriveFont(14f));
+
+        list.setBackground(BOX_COLOR);
+
+        list.setForeground(Color.WHITE);
+
+        list.setSelectionBackground(new Color(0, 150, 0));
+
+        list.setSelectionForeground(Color.WHITE);
+
+        list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+
+        list.setToolTipText("Ctrl-click to choose several");
+
+        list.setCellRenderer(new DefaultListCellRenderer() {
+
+            @Override
+
+            public Component getListCellRendererComponent(JList<?> owner, Object value, int index,
+
+                    boolean isSelected, boolean cellHasFocus) {
+
+                JobFacets.Count count = (JobFacets.Count) value;
+
+                return super.getListCellRendererComponent(owner, count.value() + " (" + count.count() + ")", index,
+
+                        isSelected, cellHasFocus);
+
+            }
+
+        });
+
+        list.addListSelectionListener(e -> {
+
+            if (!e.getValueIsAdjusting() && !updatingFacetLists) {
+
+                applyFacetFilter();
+
+            }
+
+        });
+
+        return list;
+
+    }
+
+    private JPanel createFacetSection(String title, JList<JobFacets.Count> list) {
+
+        JPanel section = new JPanel(new BorderLayout(0, 5));
+
+        section.setBackground(BG_COLOR);
+
+        section.add(createLabel(title, TEXT_FONT), BorderLayout.NORTH);
+
+        JScrollPane scrollPane = new JScrollPane(list);
+
+        scrollPane.getViewport().setBackground(BOX_COLOR);
+
+        scrollPane.setBorder(BorderFactory.createLineBorder(TEXT_COLOR, 2));
+
+        section.add(scrollPane, BorderLayout.CENTER);
+
+        return section;
+
+    }
+
     private JTextField createTextField(int columns) {
 
         JTextField field = new JTextField(columns);
@@ -2632,17 +3714,153 @@ public class GJMS2 extends JFrame {
         applyEducationSkillsArea.setText("");
     }
 
-    private Vector<Object> createEmptyRow(int size, String message) {
+    /**
+     * 
+     * Label of the job list's APPLY button for a job, from the session's applied
+     * 
+     * job IDs (no database access).
+     * 
+     */
+
+    private String applyLabel(int jobId) {
+
+        return appliedJobIds.contains(jobId) ? "APPLIED" : "Apply";
+
+    }
+
+    /**
+     * 
+     * Marks text the storage cut to {@link JobPost#PREVIEW_LENGTH} characters.
+     * 
+     */
+
+    private String previewText(String text) {
+
+        return text != null && text.length() >= JobPost.PREVIEW_LENGTH ? text + "..." : text;
+
+    }
+
+    /**
+     * 
+     * Glass pane raised while background work runs. It swallows mouse and key
+     * 
+     * input at once, so an action cannot be fired twice, but only dims the card
+     * 
+     * and shows "LOADING..." if the work takes long enough to notice.
+     * 
+     */
+
+    class LoadingPane extends JComponent {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final int INDICATOR_DELAY_MS = 150;
+
+        private final javax.swing.Timer indicatorTimer;
+
+        private int pending;
+
+        private boolean indicatorShown;
+
+        LoadingPane() {
+
+            setOpaque(false);
+
+            // Empty listeners stop events from reaching the card underneath
+
+            addMouseListener(new MouseAdapter() {
+
+            });
+
+            addMouseMotionListener(new MouseMotionAdapter() {
+
+            });
+
+            addKeyListener(new KeyAdapter() {
+
+            });
+
+            setFocusTraversalKeysEnabled(false);
+
+            indicatorTimer = new javax.swing.Timer(INDICATOR_DELAY_MS, e -> {
+
+                indicatorShown = true;
+
+                repaint();
+
+            });
+
+            indicatorTimer.setRepeats(false);
+
+        }
+
+        void begin() {
+
+            if (pending++ == 0) {
+
+                indicatorShown = false;
+
+                setVisible(true);
+
+                requestFocusInWindow();
+
+                indicatorTimer.restart();
+
+            }
+
+        }
+
+        void end() {
+
+            if (pending > 0 && --pending == 0) {
+
+                indicatorTimer.stop();
+
+                setVisible(false);
+
+            }
+
+        }
+
+        @Override
+
+        protected void paintComponent(Graphics g) {
+
+            if (!indicatorShown) {
+
+                return;
+
+            }
+
+            Graphics2D g2 = (Graphics2D) g.create();
+
+            try {
+
+                g2.setColor(new Color(0, 0, 0, 120));
 
-        Vector<Object> emptyRow = new Vector<>();
+                g2.fillRect(0, 0, getWidth(), getHeight());
 
-        emptyRow.add(-1); // dummy ID
+                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
-        emptyRow.add(message);
+                g2.setFont(BUTTON_FONT);
 
-        emptyRow.setSize(size);
+                g2.setColor(TEXT_COLOR);
 
-        return emptyRow;
+                FontMetrics metrics = g2.getFontMetrics();
+
+                String text = "LOADING...";
+
+                g2.drawString(text, (getWidth() - metrics.stringWidth(text)) / 2,
+
+                        (getHeight() - metrics.getHeight()) / 2 + metrics.getAscent());
+
+            } finally {
+
+                g2.dispose();
+
+            }
+
+        }
 
     }
 
@@ -2740,10 +3958,6 @@ public class GJMS2 extends JFrame {
 
             try {
 
-                // Enable antialiasing for smooth rounded corners
-
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
                 Color surface = BUTTON_SURFACE_NORMAL;
 
                 ButtonModel model = getModel();
@@ -2762,29 +3976,17 @@ public class GJMS2 extends JFrame {
 
                 }
 
-                // Draw rounded background
-
-                g2.setColor(surface);
-
-                g2.fillRoundRect(0, 0, getWidth(), getHeight(), BUTTON_CORNER_RADIUS, BUTTON_CORNER_RADIUS);
-
-                // Draw neon-green border unless the foreground was changed intentionally (e.g.,
+                // Neon-green border unless the foreground was changed intentionally (e.g.,
 
                 // destructive red button with white text)
 
-                if (getForeground().equals(TEXT_COLOR)) {
+                Color border = getForeground().equals(TEXT_COLOR) ? TEXT_COLOR : getForeground();
 
-                    g2.setColor(TEXT_COLOR);
+                // Rounded background and border, copied from a sprite rendered once per
 
-                } else {
-
-                    g2.setColor(getForeground());
-
-                }
+                // size and colors; table cells paint one per visible row
 
-                g2.setStroke(new BasicStroke(2));
-
-                g2.drawRoundRect(0, 0, getWidth() - 1, getHeight() - 1, BUTTON_CORNER_RADIUS, BUTTON_CORNER_RADIUS);
+                ButtonSprites.paint(g2, getWidth(), getHeight(), surface, border, BUTTON_CORNER_RADIUS);
 
             } finally {
 
@@ -3000,8 +4202,82 @@ public class GJMS2 extends JFrame {
 
     // =========================================================================================
 
+    /**
+     * 
+     * Creates the storage engine selected with -Dgjms.storage (jdbc by default).
+     * 
+     * "embedded" keeps the data in a local H2 file (-Dgjms.embedded.path) so
+     * GJMS runs without a MySQL server.
+     * 
+     */
+
+    static Storage createStorage(JobExpiryScheduler expiryScheduler) {
+
+        String engine = System.getProperty("gjms.storage", "jdbc");
+
+        if ("memory".equalsIgnoreCase(engine)) {
+
+            return new InMemoryStorage();
+
+        }
+
+        if ("embedded".equalsIgnoreCase(engine)) {
+
+            // IGNORECASE makes username lookups behave like the MySQL collation
+
+            String url = "jdbc:h2:file:" + System.getProperty("gjms.embedded.path", "./gjms_db") + ";IGNORECASE=TRUE";
+
+            return CachingStorage.wrapFromSystemProperties(
+
+                    new JdbcStorage(ConnectionPool.fromSystemProperties(url, "sa", ""), SqlDialect.H2),
+
+                    expiryScheduler);
+
+        }
+
+        // Shared connection pool for all data access (tune via -Dgjms.pool.*); job list
+
+        // pages are cached in front of it (tune via -Dgjms.cache.*)
+
+        return CachingStorage.wrapFromSystemProperties(
+
+                new JdbcStorage(ConnectionPool.fromSystemProperties(DB_URL, DB_USER, DB_PASS), SqlDialect.MYSQL),
+
+                expiryScheduler);
+
+    }
+
     public static void main(String[] args) {
 
+        StartupTimeline.mark("main");
+
+        JobExpiryScheduler expiryScheduler = new JobExpiryScheduler();
+
+        Storage storage = createStorage(expiryScheduler);
+
+        // Release pooled connections on exit and optionally dump storage statistics
+        // (run with -Dgjms.stats=true) to help size the pool for the expected load.
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+
+            if (Boolean.getBoolean("gjms.stats")) {
+
+                System.out.println("[gjms] " + storage.statistics());
+
+                System.out.println("[gjms] button " + ButtonSprites.statistics());
+
+            }
+
+            expiryScheduler.close();
+
+            storage.close();
+
+        }, "gjms-shutdown"));
+
+        storage.start();
+
+        StartupTimeline.mark("storage started");
+
         // Set a better look and feel (e.g., the system's default L&F)
 
         try {
@@ -3018,7 +4294,9 @@ public class GJMS2 extends JFrame {
 
         SwingUtilities.invokeLater(() -> {
 
-            GJMS2 frame = new GJMS2();
+            GJMS2 frame = new GJMS2(storage, expiryScheduler);
+
+            StartupTimeline.mark("frame built");
 
             frame.setVisible(true);
 
@@ -0,0 +1,588 @@
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ *
+ * Storage engine that keeps everything in process memory.
+ *
+ * Job posts and their applications live in lock stripes selected by job id,
+ * each stripe holding its own primitive int-keyed maps, so writers on
+ * different jobs never contend. Operations that span several jobs lock the
+ * stripes they need in ascending index order.
+ *
+ * Usernames are matched case-insensitively (like the default MySQL
+ * collation) but returned exactly as stored.
+ *
+ * Intended for single-node deployments and for running GJMS without a
+ * database; nothing is persisted across restarts.
+ *
+ */
+
+public final class InMemoryStorage implements Storage {
+
+    private static final int STRIPE_COUNT = 64; // Power of two
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    private final AtomicInteger nextJobId = new AtomicInteger();
+
+    private final ConcurrentHashMap<String, UserAccount> users = new ConcurrentHashMap<>();
+
+    // Secondary indexes; each set is guarded by synchronizing on it and is only
+    // updated while the stripe of the job id being added/removed is write-locked.
+    private final ConcurrentHashMap<String, IntHashSet> appliedJobsByUser = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, IntHashSet> postsByCreator = new ConcurrentHashMap<>();
+
+    // Every post's position in the job list order, for keyset paging. Updated
+    // under the post's stripe write lock; readers re-check the stripe.
+    private final ConcurrentSkipListSet<JobPostCursor> listing = new ConcurrentSkipListSet<>(JobPostCursor.LIST_ORDER);
+
+    private static final int CHANGE_LOG_LIMIT = 10_000;
+
+    // Recent creates and deletes for findChangedSince, oldest first, guarded by
+    // synchronizing on it. A mark is a sequence number; once an entry is trimmed,
+    // marks older than it get an incomplete answer.
+    private final ArrayDeque<Change> changeLog = new ArrayDeque<>();
+
+    private long changeSequence;
+
+    private long trimmedThrough;
+
+    private record Change(long sequence, JobPost created, JobPostCursor deleted) {
+    }
+
+    private final UserRepository userRepository = new MemoryUsers();
+
+    private final JobPostRepository jobPostRepository = new MemoryJobPosts();
+
+    private final ApplicationRepository applicationRepository = new MemoryApplications();
+
+    public InMemoryStorage() {
+
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public UserRepository users() {
+
+        return userRepository;
+    }
+
+    @Override
+    public JobPostRepository jobPosts() {
+
+        return jobPostRepository;
+    }
+
+    @Override
+    public ApplicationRepository applications() {
+
+        return applicationRepository;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    // =========================================================================================
+
+    // STRIPES & INDEX HELPERS
+
+    // =========================================================================================
+
+    private static final class Stripe {
+
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        final IntObjectHashMap<JobPost> posts = new IntObjectHashMap<>();
+
+        // job id -> (lower-cased username -> application)
+        final IntObjectHashMap<Map<String, JobApplication>> applications = new IntObjectHashMap<>();
+    }
+
+    private Stripe stripeFor(int jobId) {
+
+        return stripes[IntHashSet.mix(jobId) & (STRIPE_COUNT - 1)];
+    }
+
+    private static String key(String username) {
+
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static void addToIndex(ConcurrentHashMap<String, IntHashSet> index, String username, int jobId) {
+
+        IntHashSet ids = index.computeIfAbsent(key(username), k -> new IntHashSet());
+        synchronized (ids) {
+            ids.add(jobId);
+        }
+    }
+
+    private static void removeFromIndex(ConcurrentHashMap<String, IntHashSet> index, String username, int jobId) {
+
+        IntHashSet ids = index.get(key(username));
+        if (ids != null) {
+            synchronized (ids) {
+                ids.remove(jobId);
+            }
+        }
+    }
+
+    private static int[] snapshot(ConcurrentHashMap<String, IntHashSet> index, String username) {
+
+        IntHashSet ids = index.get(key(username));
+        if (ids == null) {
+            return new int[0];
+        }
+        synchronized (ids) {
+            return ids.toArray();
+        }
+    }
+
+    /**
+     *
+     * Removes a post and all of its applications. Caller holds the post's stripe
+     * write lock.
+     *
+     */
+
+    private void removePostLocked(Stripe stripe, JobPost post) {
+
+        stripe.posts.remove(post.id());
+
+        Map<String, JobApplication> applicants = stripe.applications.remove(post.id());
+
+        if (applicants != null) {
+            for (JobApplication application : applicants.values()) {
+                removeFromIndex(appliedJobsByUser, application.username(), post.id());
+            }
+        }
+
+        removeFromIndex(postsByCreator, post.creatorUsername(), post.id());
+        listing.remove(JobPostCursor.of(post));
+        logChange(null, JobPostCursor.of(post));
+    }
+
+    private void logChange(JobPost created, JobPostCursor deleted) {
+
+        synchronized (changeLog) {
+            changeLog.addLast(new Change(++changeSequence, created, deleted));
+            if (changeLog.size() > CHANGE_LOG_LIMIT) {
+                trimmedThrough = changeLog.removeFirst().sequence();
+            }
+        }
+    }
+
+    // =========================================================================================
+
+    // REPOSITORIES
+
+    // =========================================================================================
+
+    private final class MemoryUsers implements UserRepository {
+
+        @Override
+        public void create(String username, String passwordHash) throws SQLException {
+
+            if (users.putIfAbsent(key(username), new UserAccount(username, passwordHash)) != null) {
+                throw new SQLIntegrityConstraintViolationException("Duplicate entry '" + username + "' for key 'PRIMARY'");
+            }
+        }
+
+        @Override
+        public Optional<UserAccount> find(String username) {
+
+            return Optional.ofNullable(users.get(key(username)));
+        }
+
+        @Override
+        public void purge(String username) {
+
+            int[] appliedTo = snapshot(appliedJobsByUser, username);
+            int[] created = snapshot(postsByCreator, username);
+
+            // Lock every stripe involved, in ascending order, so concurrent purges
+            // and multi-job writers can never deadlock.
+            boolean[] needed = new boolean[STRIPE_COUNT];
+            for (int jobId : appliedTo) {
+                needed[IntHashSet.mix(jobId) & (STRIPE_COUNT - 1)] = true;
+            }
+            for (int jobId : created) {
+                needed[IntHashSet.mix(jobId) & (STRIPE_COUNT - 1)] = true;
+            }
+
+            for (int i = 0; i < STRIPE_COUNT; i++) {
+                if (needed[i]) {
+                    stripes[i].lock.writeLock().lock();
+                }
+            }
+
+            try {
+                String userKey = key(username);
+
+                for (int jobId : appliedTo) {
+                    Stripe stripe = stripeFor(jobId);
+                    Map<String, JobApplication> applicants = stripe.applications.get(jobId);
+                    if (applicants != null && applicants.remove(userKey) != null) {
+                        JobPost post = stripe.posts.get(jobId);
+                        if (post != null) {
+                            stripe.posts.put(jobId, post.withApplicationCount(post.applicationCount() - 1));
+                        }
+                    }
+                }
+
+                for (int jobId : created) {
+                    Stripe stripe = stripeFor(jobId);
+                    JobPost post = stripe.posts.get(jobId);
+                    if (post != null) {
+                        removePostLocked(stripe, post);
+                    }
+                }
+
+                appliedJobsByUser.remove(userKey);
+                postsByCreator.remove(userKey);
+                users.remove(userKey);
+            } finally {
+                for (int i = STRIPE_COUNT - 1; i >= 0; i--) {
+                    if (needed[i]) {
+                        stripes[i].lock.writeLock().unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    private final class MemoryJobPosts implements JobPostRepository {
+
+        @Override
+        public List<JobPost> findAll() {
+
+            List<JobPost> posts = new ArrayList<>();
+
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+                try {
+                    posts.addAll(stripe.posts.values());
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+
+            posts.sort(Comparator.comparingInt(JobPost::id));
+            return posts;
+        }
+
+        @Override
+        public List<JobPost> findByCreator(String creatorUsername) {
+
+            List<JobPost> posts = new ArrayList<>();
+
+            for (int jobId : snapshot(postsByCreator, creatorUsername)) {
+                Stripe stripe = stripeFor(jobId);
+                stripe.lock.readLock().lock();
+                try {
+                    JobPost post = stripe.posts.get(jobId);
+                    if (post != null) {
+                        posts.add(post);
+                    }
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+
+            posts.sort(Comparator.comparingInt(JobPost::id));
+            return posts;
+        }
+
+        @Override
+        public List<JobPost> findPage(JobPostCursor after, int limit) {
+
+            List<JobPost> posts = new ArrayList<>(limit);
+            Iterable<JobPostCursor> positions = after == null ? listing : listing.tailSet(after, false);
+            LocalDate today = LocalDate.now();
+
+            for (JobPostCursor position : positions) {
+                if (posts.size() == limit) {
+                    break;
+                }
+                Stripe stripe = stripeFor(position.id());
+                stripe.lock.readLock().lock();
+                try {
+                    JobPost post = stripe.posts.get(position.id());
+                    // Skip a post deleted since the iterator passed it, and expired ones
+                    if (post != null && !post.isExpired(today)) {
+                        posts.add(post);
+                    }
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+
+            return posts;
+        }
+
+        @Override
+        public long changeMark() {
+
+            synchronized (changeLog) {
+                return changeSequence;
+            }
+        }
+
+        @Override
+        public List<JobPost> findBatchAfterId(int afterId, int limit) {
+
+            List<JobPost> posts = new ArrayList<>(limit);
+            int lastId = nextJobId.get();
+
+            // Ids are handed out densely, so walk them instead of scanning every stripe
+            for (int jobId = Math.max(afterId, 0) + 1; jobId <= lastId && posts.size() < limit; jobId++) {
+                Stripe stripe = stripeFor(jobId);
+                stripe.lock.readLock().lock();
+                try {
+                    JobPost post = stripe.posts.get(jobId);
+                    if (post != null) {
+                        posts.add(post);
+                    }
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+
+            return posts;
+        }
+
+        @Override
+        public Optional<JobPostDetails> findDetails(int jobId) {
+
+            Stripe stripe = stripeFor(jobId);
+            stripe.lock.readLock().lock();
+            try {
+                JobPost post = stripe.posts.get(jobId);
+                return post == null ? Optional.empty()
+                        : Optional.of(new JobPostDetails(jobId, post.jobDescription(), post.skillsRequired()));
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public IntObjectHashMap<JobPostDetails> findDetails(IntHashSet jobIds) {
+
+            IntObjectHashMap<JobPostDetails> found = new IntObjectHashMap<>(jobIds.size());
+            for (int jobId : jobIds.toArray()) {
+                findDetails(jobId).ifPresent(details -> found.put(jobId, details));
+            }
+            return found;
+        }
+
+        @Override
+        public JobPostChanges findChangedSince(long mark) {
+
+            synchronized (changeLog) {
+                if (mark < trimmedThrough) {
+                    return JobPostChanges.incomplete(changeSequence);
+                }
+
+                List<JobPost> changed = new ArrayList<>();
+                List<JobPostCursor> deleted = new ArrayList<>();
+
+                // Newest entries are at the tail, so walk back only as far as mark
+                for (Iterator<Change> it = changeLog.descendingIterator(); it.hasNext();) {
+                    Change change = it.next();
+                    if (change.sequence() <= mark) {
+                        break;
+                    }
+                    if (change.created() != null) {
+                        changed.add(change.created());
+                    } else {
+                        deleted.add(change.deleted());
+                    }
+                }
+
+                return new JobPostChanges(changed, deleted, changeSequence, true);
+            }
+        }
+
+        @Override
+        public JobPost create(JobPost draft) {
+
+            JobPost post = draft.withId(nextJobId.incrementAndGet(), LocalDate.now());
+            Stripe stripe = stripeFor(post.id());
+
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.posts.put(post.id(), post);
+                addToIndex(postsByCreator, post.creatorUsername(), post.id());
+                listing.add(JobPostCursor.of(post));
+                logChange(post, null);
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+
+            return post;
+        }
+
+        @Override
+        public boolean delete(int jobId, String creatorUsername) {
+
+            Stripe stripe = stripeFor(jobId);
+
+            stripe.lock.writeLock().lock();
+            try {
+                JobPost post = stripe.posts.get(jobId);
+                if (post == null || !key(post.creatorUsername()).equals(key(creatorUsername))) {
+                    return false;
+                }
+                removePostLocked(stripe, post);
+                return true;
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private final class MemoryApplications implements ApplicationRepository {
+
+        @Override
+        public IntHashSet findAppliedJobIds(String username) {
+
+            IntHashSet copy = new IntHashSet();
+            for (int jobId : snapshot(appliedJobsByUser, username)) {
+                copy.add(jobId);
+            }
+            return copy;
+        }
+
+        @Override
+        public Optional<JobApplication> find(String username, int jobId) {
+
+            Stripe stripe = stripeFor(jobId);
+
+            stripe.lock.readLock().lock();
+            try {
+                Map<String, JobApplication> applicants = stripe.applications.get(jobId);
+                return applicants == null ? Optional.empty() : Optional.ofNullable(applicants.get(key(username)));
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public List<JobApplication> findByJob(int jobId) {
+
+            Stripe stripe = stripeFor(jobId);
+
+            stripe.lock.readLock().lock();
+            try {
+                Map<String, JobApplication> applicants = stripe.applications.get(jobId);
+                return applicants == null ? new ArrayList<>() : new ArrayList<>(applicants.values());
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public List<AppliedJob> findByApplicant(String username) {
+
+            List<AppliedJob> applied = new ArrayList<>();
+            String userKey = key(username);
+
+            for (int jobId : snapshot(appliedJobsByUser, username)) {
+                Stripe stripe = stripeFor(jobId);
+                stripe.lock.readLock().lock();
+                try {
+                    JobPost post = stripe.posts.get(jobId);
+                    Map<String, JobApplication> applicants = stripe.applications.get(jobId);
+                    JobApplication application = applicants == null ? null : applicants.get(userKey);
+                    if (post != null && application != null) {
+                        applied.add(new AppliedJob(application, post.jobTitle(), post.employerName()));
+                    }
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+
+            applied.sort(Comparator.comparingInt(a -> a.application().jobId()));
+            return applied;
+        }
+
+        @Override
+        public boolean upsert(JobApplication application) {
+
+            int jobId = application.jobId();
+            Stripe stripe = stripeFor(jobId);
+
+            stripe.lock.writeLock().lock();
+            try {
+                JobPost post = stripe.posts.get(jobId);
+                if (post == null) {
+                    return false;
+                }
+
+                Map<String, JobApplication> applicants = stripe.applications.get(jobId);
+                if (applicants == null) {
+                    applicants = new HashMap<>();
+                    stripe.applications.put(jobId, applicants);
+                }
+
+                JobApplication saved = new JobApplication(jobId, application.username(), application.fullName(),
+                        application.age(), application.contactNumber(), application.email(),
+                        application.educationSkills(), LocalDateTime.now());
+
+                // Editing an existing application does not change the count
+                if (applicants.put(key(application.username()), saved) == null) {
+                    stripe.posts.put(jobId, post.withApplicationCount(post.applicationCount() + 1));
+                    addToIndex(appliedJobsByUser, application.username(), jobId);
+                }
+
+                return true;
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(int jobId, String username) {
+
+            Stripe stripe = stripeFor(jobId);
+
+            stripe.lock.writeLock().lock();
+            try {
+                Map<String, JobApplication> applicants = stripe.applications.get(jobId);
+                if (applicants == null || applicants.remove(key(username)) == null) {
+                    return false;
+                }
+
+                JobPost post = stripe.posts.get(jobId);
+                if (post != null) {
+                    stripe.posts.put(jobId, post.withApplicationCount(post.applicationCount() - 1));
+                }
+
+                removeFromIndex(appliedJobsByUser, username, jobId);
+                return true;
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+}
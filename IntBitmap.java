@@ -0,0 +1,520 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ *
+ * Set of non-negative ints stored roaring-style: values are grouped by their
+ * high 16 bits, and each group keeps its low halves either as a sorted char
+ * array (up to ARRAY_LIMIT values, two bytes each) or as a 65,536-bit bitmap
+ * (8 KB), whichever is smaller. Intersections and unions then work group by
+ * group, merging arrays or combining bitmap words, and cardinalities are kept
+ * per group so counting a set is free.
+ *
+ * Not thread-safe; callers that share an instance must guard it.
+ *
+ */
+
+public final class IntBitmap {
+
+    // Past this many values a group is smaller as a bitmap
+    private static final int ARRAY_LIMIT = 4096;
+
+    private char[] keys = new char[0]; // High halves of the groups in use, ascending
+
+    private Container[] containers = new Container[0];
+
+    private int size;
+
+    public boolean contains(int value) {
+
+        int at = find((char) (value >>> 16));
+        return at >= 0 && containers[at].contains((char) value);
+    }
+
+    public boolean add(int value) {
+
+        char high = (char) (value >>> 16);
+        int at = find(high);
+        if (at < 0) {
+            at = -at - 1;
+            insert(at, high, new ArrayContainer(new char[4], 0));
+        }
+
+        int before = containers[at].cardinality;
+        containers[at] = containers[at].add((char) value);
+        return containers[at].cardinality > before;
+    }
+
+    public boolean remove(int value) {
+
+        int at = find((char) (value >>> 16));
+        if (at < 0) {
+            return false;
+        }
+
+        int before = containers[at].cardinality;
+        containers[at] = containers[at].remove((char) value);
+        boolean removed = containers[at].cardinality < before;
+        if (containers[at].cardinality == 0) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            System.arraycopy(containers, at + 1, containers, at, size - at - 1);
+            containers[--size] = null;
+        }
+        return removed;
+    }
+
+    public int cardinality() {
+
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     *
+     * Calls action with every value, ascending.
+     *
+     */
+
+    public void forEach(IntConsumer action) {
+
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     *
+     * Returns a new set of the values in both this and other.
+     *
+     */
+
+    public IntBitmap and(IntBitmap other) {
+
+        IntBitmap result = new IntBitmap();
+        for (int i = 0, j = 0; i < size && j < other.size;) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container both = containers[i].and(other.containers[j]);
+                if (both.cardinality > 0) {
+                    result.insert(result.size, keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * Returns a new set of the values in this, other or both.
+     *
+     */
+
+    public IntBitmap or(IntBitmap other) {
+
+        IntBitmap result = new IntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.insert(result.size, keys[i], containers[i].copy());
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.insert(result.size, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insert(result.size, keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * The size of and(other), without building it.
+     *
+     */
+
+    public int andCardinality(IntBitmap other) {
+
+        int total = 0;
+        for (int i = 0, j = 0; i < size && j < other.size;) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private int find(char high) {
+
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insert(int at, char high, Container container) {
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2 + 1);
+            containers = Arrays.copyOf(containers, size * 2 + 1);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = high;
+        containers[at] = container;
+        size++;
+    }
+
+    // =========================================================================================
+
+    // CONTAINERS
+
+    // =========================================================================================
+
+    /**
+     *
+     * The low halves of one group. add and remove return the container to use
+     * afterwards, which is a converted copy when the group crosses ARRAY_LIMIT.
+     *
+     */
+
+    private abstract static class Container {
+
+        int cardinality;
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract int andCardinality(Container other);
+
+        abstract Container copy();
+
+        abstract BitmapContainer toBitmap();
+
+        abstract void forEach(int high, IntConsumer action);
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        char[] values;
+
+        ArrayContainer(char[] values, int cardinality) {
+
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+
+            int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+
+            at = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+
+            int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+
+            char[] both = new char[Math.min(cardinality, other.cardinality)];
+            int count = 0;
+            if (other instanceof ArrayContainer array && !isSkewed(array)) {
+                for (int i = 0, j = 0; i < cardinality && j < array.cardinality;) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        both[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                ArrayContainer small = other.cardinality < cardinality ? (ArrayContainer) other : this;
+                Container large = small == this ? other : this;
+                for (int i = 0; i < small.cardinality; i++) {
+                    if (large.contains(small.values[i])) {
+                        both[count++] = small.values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(both, count);
+        }
+
+        @Override
+        Container or(Container other) {
+
+            if (!(other instanceof ArrayContainer array)) {
+                return other.or(this);
+            }
+            if (cardinality + array.cardinality > ARRAY_LIMIT) {
+                return toBitmap().or(array); // toBitmap is a fresh copy here
+            }
+
+            char[] merged = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j >= array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i >= cardinality || values[i] > array.values[j]) {
+                    merged[count++] = array.values[j++];
+                } else {
+                    merged[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(merged, count);
+        }
+
+        @Override
+        int andCardinality(Container other) {
+
+            int count = 0;
+            if (other instanceof ArrayContainer array && !isSkewed(array)) {
+                for (int i = 0, j = 0; i < cardinality && j < array.cardinality;) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                ArrayContainer small = other.cardinality < cardinality ? (ArrayContainer) other : this;
+                Container large = small == this ? other : this;
+                for (int i = 0; i < small.cardinality; i++) {
+                    if (large.contains(small.values[i])) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         *
+         * True when one array is so much smaller that binary searching the other
+         * for each of its values beats merging the two.
+         *
+         */
+
+        private boolean isSkewed(ArrayContainer other) {
+
+            return cardinality * 32 < other.cardinality || other.cardinality * 32 < cardinality;
+        }
+
+        @Override
+        Container copy() {
+
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+
+            BitmapContainer bitmap = new BitmapContainer(new long[1024], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        final long[] words;
+
+        BitmapContainer(long[] words, int cardinality) {
+
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality > ARRAY_LIMIT ? this : toArray();
+        }
+
+        @Override
+        Container and(Container other) {
+
+            if (!(other instanceof BitmapContainer bitmap)) {
+                return other.and(this);
+            }
+
+            long[] both = new long[1024];
+            int count = 0;
+            for (int i = 0; i < both.length; i++) {
+                both[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(both[i]);
+            }
+            BitmapContainer result = new BitmapContainer(both, count);
+            return count > ARRAY_LIMIT ? result : result.toArray();
+        }
+
+        @Override
+        Container or(Container other) {
+
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof BitmapContainer bitmap) {
+                int count = 0;
+                for (int i = 0; i < result.words.length; i++) {
+                    result.words[i] |= bitmap.words[i];
+                    count += Long.bitCount(result.words[i]);
+                }
+                result.cardinality = count;
+            } else {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.add(array.values[i]);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        int andCardinality(Container other) {
+
+            if (!(other instanceof BitmapContainer bitmap)) {
+                return other.andCardinality(this);
+            }
+
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                count += Long.bitCount(words[i] & bitmap.words[i]);
+            }
+            return count;
+        }
+
+        @Override
+        Container copy() {
+
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+
+            return this;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        ArrayContainer toArray() {
+
+            char[] values = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
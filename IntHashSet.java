@@ -0,0 +1,211 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ *
+ * Open-addressing hash set of primitive ints (no boxing).
+ *
+ * Not thread-safe; callers that share an instance must synchronize on it.
+ *
+ */
+
+public final class IntHashSet {
+
+    // 0 marks a free slot, so the value 0 itself is tracked separately.
+    private static final int FREE = 0;
+
+    private int[] slots;
+
+    private int size;
+
+    private boolean containsZero;
+
+    public IntHashSet() {
+
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+
+        slots = new int[tableSizeFor(expectedSize)];
+    }
+
+    public boolean contains(int value) {
+
+        if (value == FREE) {
+            return containsZero;
+        }
+
+        int mask = slots.length - 1;
+
+        for (int i = mix(value) & mask;; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == FREE) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     *
+     * @return true if the value was not present before.
+     *
+     */
+
+    public boolean add(int value) {
+
+        if (value == FREE) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+
+        while (slots[i] != FREE) {
+            if (slots[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        slots[i] = value;
+
+        if (++size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+
+        return true;
+    }
+
+    /**
+     *
+     * @return true if the value was present.
+     *
+     */
+
+    public boolean remove(int value) {
+
+        if (value == FREE) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+
+        while (slots[i] != value) {
+            if (slots[i] == FREE) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones.
+        int gap = i;
+
+        for (int j = (gap + 1) & mask; slots[j] != FREE; j = (j + 1) & mask) {
+            int home = mix(slots[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+
+        slots[gap] = FREE;
+        size--;
+        return true;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    public void clear() {
+
+        Arrays.fill(slots, FREE);
+        containsZero = false;
+        size = 0;
+    }
+
+    public void forEach(IntConsumer action) {
+
+        if (containsZero) {
+            action.accept(0);
+        }
+
+        for (int slot : slots) {
+            if (slot != FREE) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    public int[] toArray() {
+
+        int[] values = new int[size];
+        int n = 0;
+
+        if (containsZero) {
+            values[n++] = 0;
+        }
+
+        for (int slot : slots) {
+            if (slot != FREE) {
+                values[n++] = slot;
+            }
+        }
+
+        return values;
+    }
+
+    private void rehash(int capacity) {
+
+        int[] old = slots;
+        slots = new int[capacity];
+        int mask = capacity - 1;
+
+        for (int value : old) {
+            if (value != FREE) {
+                int i = mix(value) & mask;
+                while (slots[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    static int mix(int value) {
+
+        // Sequential ids (the common case) would otherwise cluster.
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int tableSizeFor(int expectedSize) {
+
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
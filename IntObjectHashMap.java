@@ -0,0 +1,185 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * Open-addressing hash map from primitive int keys to objects (no boxed keys).
+ *
+ * null values are not allowed; a null slot marks a free entry. Not
+ * thread-safe; callers that share an instance must guard it.
+ *
+ */
+
+public final class IntObjectHashMap<V> {
+
+    private int[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    public IntObjectHashMap() {
+
+        this(16);
+    }
+
+    public IntObjectHashMap(int expectedSize) {
+
+        int capacity = IntHashSet.tableSizeFor(expectedSize);
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+
+        int mask = keys.length - 1;
+
+        for (int i = IntHashSet.mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+
+        return get(key) != null;
+    }
+
+    /**
+     *
+     * @return the previous value, or null if the key was absent.
+     *
+     */
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+
+        if (value == null) {
+            throw new IllegalArgumentException("null values are not supported");
+        }
+
+        int mask = keys.length - 1;
+        int i = IntHashSet.mix(key) & mask;
+
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = value;
+
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        return null;
+    }
+
+    /**
+     *
+     * @return the removed value, or null if the key was absent.
+     *
+     */
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+
+        int mask = keys.length - 1;
+        int i = IntHashSet.mix(key) & mask;
+
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+
+        if (values[i] == null) {
+            return null;
+        }
+
+        V removed = (V) values[i];
+
+        // Backward-shift deletion, as in IntHashSet.
+        int gap = i;
+
+        for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = IntHashSet.mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Entry<V> action) {
+
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+
+        List<V> result = new ArrayList<>(size);
+
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+
+        return result;
+    }
+
+    private void rehash(int capacity) {
+
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = IntHashSet.mix(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Entry<V> {
+
+        void accept(int key, V value);
+    }
+}
@@ -0,0 +1,766 @@
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ *
+ * Storage engine backed by a SQL database (MySQL, or an embedded H2 file)
+ * through the shared {@link ConnectionPool}.
+ *
+ * All SQL comes from {@link NamedQuery}, adjusted by the {@link SqlDialect}.
+ * Multi-statement writes run in one transaction on one connection and always
+ * lock a job post before touching its applications.
+ *
+ */
+
+public final class JdbcStorage implements Storage {
+
+    // Tombstones older than this are pruned; a change mark older than this gets
+    // an incomplete answer from findChangedSince
+    private static final long TOMBSTONE_RETENTION_MS = 24 * 60 * 60 * 1000L;
+
+    // A row is stamped when its statement runs but only becomes visible at commit,
+    // so each delta query reaches this far back before its mark
+    private static final long CHANGE_OVERLAP_MS = 5_000;
+
+    private final ConnectionPool pool;
+
+    private final SqlDialect dialect;
+
+    private final ApplicationCountReconciler countReconciler;
+
+    private final UserRepository users = new JdbcUsers();
+
+    private final JobPostRepository jobPosts = new JdbcJobPosts();
+
+    private final ApplicationRepository applications;
+
+    // Non-null when application upserts are queued and batched (-Dgjms.writeBehind=true)
+    private final ApplicationWriteBehind applicationQueue;
+
+    public JdbcStorage(ConnectionPool pool, SqlDialect dialect) {
+
+        this.pool = pool;
+        this.dialect = dialect;
+        this.countReconciler = new ApplicationCountReconciler(pool, dialect);
+
+        ApplicationRepository direct = new JdbcApplications();
+        ApplicationWriteBehind queue = null;
+
+        if (Boolean.getBoolean("gjms.writeBehind")) {
+            try {
+                queue = ApplicationWriteBehind.fromSystemProperties(direct, this::writeApplicationBatch);
+            } catch (IOException e) {
+                System.err.println("[gjms] Application journal unavailable, writing directly: " + e.getMessage());
+            }
+        }
+
+        this.applicationQueue = queue;
+        this.applications = queue != null ? queue : direct;
+    }
+
+    @Override
+    public UserRepository users() {
+
+        return users;
+    }
+
+    @Override
+    public JobPostRepository jobPosts() {
+
+        return jobPosts;
+    }
+
+    @Override
+    public ApplicationRepository applications() {
+
+        return applications;
+    }
+
+    @Override
+    public void start() {
+
+        // An embedded database is local and fast, so its schema is brought up to date
+        // before the UI can issue its first query
+        if (dialect.isEmbedded()) {
+            try {
+                migrateSchema();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // Startup checks run in the background so the window appears even if MySQL is slow or down
+        Thread startupChecks = new Thread(this::runStartupChecks, "gjms-startup-checks");
+        startupChecks.setDaemon(true);
+        startupChecks.start();
+
+        countReconciler.start(Long.getLong("gjms.reconcile.intervalMs", 600_000L));
+    }
+
+    /**
+     *
+     * Brings the schema up to date (for a server database), repairs any counter
+     * drift and then prepares every NamedQuery once, reporting any statement the
+     * database rejects.
+     *
+     */
+
+    private void runStartupChecks() {
+
+        try {
+            if (!dialect.isEmbedded()) {
+                migrateSchema();
+            }
+
+            countReconciler.reconcile();
+            pruneTombstones();
+
+            for (String problem : NamedQuery.validateAll(pool, dialect)) {
+                System.err.println("[gjms] Invalid SQL: " + problem);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace(); // Database unreachable; handlers will report it when used
+        }
+    }
+
+    private void migrateSchema() throws SQLException {
+
+        try (Connection conn = pool.getConnection()) {
+            SchemaInitializer.migrate(conn, dialect);
+        }
+    }
+
+    private void pruneTombstones() throws SQLException {
+
+        try (Connection conn = pool.getConnection()) {
+            long now = currentChangeTime(conn);
+            update(conn, NamedQuery.PRUNE_JOB_POST_TOMBSTONES, new Timestamp(now - TOMBSTONE_RETENTION_MS));
+        }
+    }
+
+    @Override
+    public String statistics() {
+
+        String stats = "connection pool: " + pool.stats();
+        if (applicationQueue != null) {
+            stats += "; application write-behind: " + applicationQueue.stats();
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+
+        countReconciler.close();
+        if (applicationQueue != null) {
+            applicationQueue.close(); // Last flush needs the pool
+        }
+        pool.close();
+    }
+
+    /**
+     *
+     * Writes one write-behind batch in a single transaction: locks the affected
+     * posts in ascending id order, batches the upserts for posts that still
+     * exist, then recounts those posts so application_count stays exact whether
+     * each row was new or a replacement.
+     *
+     * @return the ids of the posts that are gone; their applications were dropped.
+     *
+     */
+
+    private IntHashSet writeApplicationBatch(Collection<JobApplication> batch) throws SQLException {
+
+        IntHashSet jobIds = new IntHashSet();
+        for (JobApplication application : batch) {
+            jobIds.add(application.jobId());
+        }
+
+        return inTransaction(conn -> {
+            IntHashSet livePosts = lockJobPosts(conn, jobIds);
+
+            IntHashSet gonePosts = new IntHashSet();
+
+            try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.UPSERT_APPLICATION))) {
+                for (JobApplication application : batch) {
+                    if (!livePosts.contains(application.jobId())) {
+                        gonePosts.add(application.jobId());
+                        continue;
+                    }
+                    bind(pstmt, application.jobId(), application.username(), application.fullName(),
+                            application.age(), application.contactNumber(), application.email(),
+                            application.educationSkills());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.RECOUNT_APPLICATIONS))) {
+                for (int jobId : livePosts.toArray()) {
+                    pstmt.setInt(1, jobId);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            return gonePosts;
+        });
+    }
+
+    // =========================================================================================
+
+    // HELPERS
+
+    // =========================================================================================
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+
+        T run(Connection conn) throws SQLException;
+    }
+
+    /**
+     *
+     * Runs work in one transaction on one pooled connection, rolling back on that
+     * same connection if anything fails.
+     *
+     */
+
+    private <T> T inTransaction(SqlWork<T> work) throws SQLException {
+
+        try (Connection conn = pool.getConnection()) {
+
+            conn.setAutoCommit(false);
+
+            try {
+                T result = work.run(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private int update(Connection conn, NamedQuery query, Object... params) throws SQLException {
+
+        try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(query))) {
+            bind(pstmt, params);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private boolean exists(Connection conn, NamedQuery query, Object... params) throws SQLException {
+
+        try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(query))) {
+            bind(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private IntHashSet selectIds(Connection conn, NamedQuery query, Object... params) throws SQLException {
+
+        try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(query))) {
+            bind(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                IntHashSet ids = new IntHashSet();
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+                return ids;
+            }
+        }
+    }
+
+    /**
+     *
+     * Locks the given job posts in ascending id order, LOCK_BATCH_SIZE per round
+     * trip. Every writer that locks more than one post goes through here, so
+     * they all acquire locks in the same order.
+     *
+     * @return the ids that still exist.
+     *
+     */
+
+    private IntHashSet lockJobPosts(Connection conn, IntHashSet jobIds) throws SQLException {
+
+        int[] ids = jobIds.toArray();
+        Arrays.sort(ids);
+
+        IntHashSet locked = new IntHashSet();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.LOCK_JOB_POSTS))) {
+            for (int from = 0; from < ids.length; from += NamedQuery.LOCK_BATCH_SIZE) {
+                for (int i = 0; i < NamedQuery.LOCK_BATCH_SIZE; i++) {
+                    pstmt.setInt(i + 1, ids[Math.min(from + i, ids.length - 1)]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        locked.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+
+        return locked;
+    }
+
+    /**
+     *
+     * The database clock in epoch millis, so change marks never depend on how
+     * far this machine's clock is from the server's.
+     *
+     */
+
+    private long currentChangeTime(Connection conn) throws SQLException {
+
+        try (PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.CURRENT_CHANGE_TIME));
+                ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getTimestamp(1).getTime();
+        }
+    }
+
+    private static void bind(PreparedStatement pstmt, Object... params) throws SQLException {
+
+        for (int i = 0; i < params.length; i++) {
+            pstmt.setObject(i + 1, params[i]);
+        }
+    }
+
+    private static LocalDate toLocalDate(java.sql.Date date) {
+
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static JobPost readJobPost(ResultSet rs) throws SQLException {
+
+        return new JobPost(rs.getInt("id"), rs.getString("job_title"), rs.getString("job_description"),
+                rs.getString("employer_name"), rs.getString("skills_required"), rs.getString("job_location"),
+                rs.getString("contact_number"), rs.getString("posting_deadline"),
+                toLocalDate(rs.getDate("deadline_date")), toLocalDate(rs.getDate("posting_date")),
+                rs.getString("creator_username"),
+                rs.getInt("application_count"));
+    }
+
+    private static JobApplication readApplication(ResultSet rs, int jobId, String username) throws SQLException {
+
+        return new JobApplication(jobId, username, rs.getString("full_name"), rs.getInt("age"),
+                rs.getString("contact_number"), rs.getString("email"), rs.getString("education_skills"),
+                toLocalDateTime(rs.getTimestamp("application_date")));
+    }
+
+    // =========================================================================================
+
+    // REPOSITORIES
+
+    // =========================================================================================
+
+    private final class JdbcUsers implements UserRepository {
+
+        @Override
+        public void create(String username, String passwordHash) throws SQLException {
+
+            try (Connection conn = pool.getConnection()) {
+                update(conn, NamedQuery.INSERT_USER, username, passwordHash);
+            } catch (SQLException e) {
+                // Report duplicates the same way on every database
+                if (dialect.isUniqueViolation(e) && !(e instanceof SQLIntegrityConstraintViolationException)) {
+                    throw new SQLIntegrityConstraintViolationException(e.getMessage(), e.getSQLState(),
+                            e.getErrorCode(), e);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public Optional<UserAccount> find(String username) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.FIND_USER))) {
+
+                pstmt.setString(1, username);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return Optional.of(new UserAccount(rs.getString("username"), rs.getString("password_hash")));
+                    }
+                    return Optional.empty();
+                }
+            }
+        }
+
+        @Override
+        public void purge(String username) throws SQLException {
+
+            if (applicationQueue != null) {
+                applicationQueue.flush(); // So no queued application outlives the account
+            }
+
+            inTransaction(conn -> {
+                // 1. Lock every post the purge touches (created or applied to) in ascending
+                //    id order, the order all multi-post writers use, so purges cannot deadlock
+                IntHashSet touched = selectIds(conn, NamedQuery.JOB_POST_IDS_BY_CREATOR, username);
+                selectIds(conn, NamedQuery.APPLIED_JOB_IDS, username).forEach(touched::add);
+                lockJobPosts(conn, touched);
+
+                // 2. Delete this user's job posts, leaving tombstones for delta refreshes; the
+                //    foreign key cascades to their applications, including any the user made
+                //    to their own posts
+                update(conn, NamedQuery.TOMBSTONE_JOB_POSTS_BY_CREATOR, username);
+                update(conn, NamedQuery.DELETE_JOB_POSTS_BY_CREATOR, username);
+
+                // 3. Take the user's remaining applications off other posts' counters, then delete them
+                update(conn, NamedQuery.DECREMENT_COUNTS_FOR_APPLICANT, username);
+                update(conn, NamedQuery.DELETE_APPLICATIONS_BY_USER, username);
+
+                // 4. Delete the user account
+                update(conn, NamedQuery.DELETE_USER, username);
+                return null;
+            });
+        }
+    }
+
+    private final class JdbcJobPosts implements JobPostRepository {
+
+        @Override
+        public List<JobPost> findAll() throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.LIST_JOB_POSTS));
+                    ResultSet rs = pstmt.executeQuery()) {
+
+                List<JobPost> posts = new ArrayList<>();
+                while (rs.next()) {
+                    posts.add(readJobPost(rs));
+                }
+                return posts;
+            }
+        }
+
+        @Override
+        public List<JobPost> findByCreator(String creatorUsername) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.LIST_CREATED_JOBS))) {
+
+                pstmt.setString(1, creatorUsername);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<JobPost> posts = new ArrayList<>();
+                    while (rs.next()) {
+                        posts.add(readJobPost(rs));
+                    }
+                    return posts;
+                }
+            }
+        }
+
+        @Override
+        public List<JobPost> findPage(JobPostCursor after, int limit) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(after == null
+                            ? NamedQuery.LIST_JOB_POSTS_FIRST_PAGE : NamedQuery.LIST_JOB_POSTS_PAGE_AFTER))) {
+
+                java.sql.Date today = java.sql.Date.valueOf(LocalDate.now());
+                if (after == null) {
+                    bind(pstmt, today, limit);
+                } else {
+                    java.sql.Date date = java.sql.Date.valueOf(after.postingDate());
+                    bind(pstmt, today, date, date, after.id(), limit);
+                }
+                pstmt.setFetchSize(limit); // A page or scroll window arrives in one round trip
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<JobPost> posts = new ArrayList<>(limit);
+                    while (rs.next()) {
+                        posts.add(readJobPost(rs));
+                    }
+                    return posts;
+                }
+            }
+        }
+
+        @Override
+        public long changeMark() throws SQLException {
+
+            try (Connection conn = pool.getConnection()) {
+                return currentChangeTime(conn);
+            }
+        }
+
+        @Override
+        public List<JobPost> findBatchAfterId(int afterId, int limit) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(
+                            dialect.sql(NamedQuery.LIST_JOB_POSTS_BY_ID_AFTER))) {
+
+                bind(pstmt, afterId, limit);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<JobPost> posts = new ArrayList<>(limit);
+                    while (rs.next()) {
+                        posts.add(readJobPost(rs));
+                    }
+                    return posts;
+                }
+            }
+        }
+
+        @Override
+        public Optional<JobPostDetails> findDetails(int jobId) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.FIND_JOB_POST_DETAILS))) {
+
+                pstmt.setInt(1, jobId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return Optional.of(new JobPostDetails(jobId, rs.getString("job_description"),
+                                rs.getString("skills_required")));
+                    }
+                    return Optional.empty();
+                }
+            }
+        }
+
+        @Override
+        public IntObjectHashMap<JobPostDetails> findDetails(IntHashSet jobIds) throws SQLException {
+
+            int[] ids = jobIds.toArray();
+            IntObjectHashMap<JobPostDetails> found = new IntObjectHashMap<>(ids.length);
+            if (ids.length == 0) {
+                return found;
+            }
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(
+                            dialect.sql(NamedQuery.FIND_JOB_POST_DETAILS_BATCH))) {
+
+                for (int from = 0; from < ids.length; from += NamedQuery.DETAILS_BATCH_SIZE) {
+                    for (int i = 0; i < NamedQuery.DETAILS_BATCH_SIZE; i++) {
+                        pstmt.setInt(i + 1, ids[Math.min(from + i, ids.length - 1)]);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            int id = rs.getInt("id");
+                            found.put(id, new JobPostDetails(id, rs.getString("job_description"),
+                                    rs.getString("skills_required")));
+                        }
+                    }
+                }
+            }
+
+            return found;
+        }
+
+        @Override
+        public JobPostChanges findChangedSince(long mark) throws SQLException {
+
+            // One transaction so both lists come from the same snapshot
+            return inTransaction(conn -> {
+                long now = currentChangeTime(conn);
+                if (mark < now - TOMBSTONE_RETENTION_MS) {
+                    return JobPostChanges.incomplete(now);
+                }
+
+                Timestamp since = new Timestamp(mark - CHANGE_OVERLAP_MS);
+                List<JobPost> changed = new ArrayList<>();
+                List<JobPostCursor> deleted = new ArrayList<>();
+
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        dialect.sql(NamedQuery.LIST_JOB_POSTS_CHANGED_SINCE))) {
+                    pstmt.setTimestamp(1, since);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            changed.add(readJobPost(rs));
+                        }
+                    }
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        dialect.sql(NamedQuery.LIST_JOB_POST_TOMBSTONES_SINCE))) {
+                    pstmt.setTimestamp(1, since);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            deleted.add(new JobPostCursor(toLocalDate(rs.getDate("posting_date")),
+                                    rs.getInt("job_id")));
+                        }
+                    }
+                }
+
+                return new JobPostChanges(changed, deleted, now, true);
+            });
+        }
+
+        @Override
+        public JobPost create(JobPost draft) throws SQLException {
+
+            // Bound rather than left to the server's CURRENT_DATE, so the post returned here
+            // carries the date that is stored even when the client and server dates differ
+            LocalDate postingDate = LocalDate.now();
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.INSERT_JOB_POST),
+                            Statement.RETURN_GENERATED_KEYS)) {
+
+                bind(pstmt, draft.jobTitle(), draft.jobDescription(), draft.employerName(), draft.skillsRequired(),
+                        draft.jobLocation(), draft.contactNumber(), draft.postingDeadline(),
+                        draft.deadlineDate() == null ? null : java.sql.Date.valueOf(draft.deadlineDate()),
+                        java.sql.Date.valueOf(postingDate), draft.creatorUsername());
+                pstmt.executeUpdate();
+
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    keys.next();
+                    return draft.withId(keys.getInt(1), postingDate);
+                }
+            }
+        }
+
+        @Override
+        public boolean delete(int jobId, String creatorUsername) throws SQLException {
+
+            // Foreign key constraints cascade the delete to the post's applications
+            return inTransaction(conn -> update(conn, NamedQuery.TOMBSTONE_JOB_POST, jobId, creatorUsername) > 0
+                    && update(conn, NamedQuery.DELETE_JOB_POST, jobId, creatorUsername) > 0);
+        }
+    }
+
+    private final class JdbcApplications implements ApplicationRepository {
+
+        @Override
+        public IntHashSet findAppliedJobIds(String username) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.APPLIED_JOB_IDS))) {
+
+                pstmt.setString(1, username);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    IntHashSet jobIds = new IntHashSet();
+                    while (rs.next()) {
+                        jobIds.add(rs.getInt(1));
+                    }
+                    return jobIds;
+                }
+            }
+        }
+
+        @Override
+        public Optional<JobApplication> find(String username, int jobId) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.FIND_APPLICATION))) {
+
+                pstmt.setString(1, username);
+                pstmt.setInt(2, jobId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? Optional.of(readApplication(rs, jobId, username)) : Optional.empty();
+                }
+            }
+        }
+
+        @Override
+        public List<JobApplication> findByJob(int jobId) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.LIST_APPLICANTS))) {
+
+                pstmt.setInt(1, jobId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<JobApplication> applicants = new ArrayList<>();
+                    while (rs.next()) {
+                        applicants.add(readApplication(rs, jobId, rs.getString("username")));
+                    }
+                    return applicants;
+                }
+            }
+        }
+
+        @Override
+        public List<AppliedJob> findByApplicant(String username) throws SQLException {
+
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(dialect.sql(NamedQuery.LIST_APPLIED_JOBS))) {
+
+                pstmt.setString(1, username);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<AppliedJob> applied = new ArrayList<>();
+                    while (rs.next()) {
+                        JobApplication application = readApplication(rs, rs.getInt("job_id"), username);
+                        applied.add(new AppliedJob(application, rs.getString("job_title"),
+                                rs.getString("employer_name")));
+                    }
+                    return applied;
+                }
+            }
+        }
+
+        @Override
+        public boolean upsert(JobApplication application) throws SQLException {
+
+            return inTransaction(conn -> {
+                // Lock the parent job post first; this also rejects posts deleted meanwhile
+                if (!exists(conn, NamedQuery.LOCK_JOB_POST, application.jobId())) {
+                    return false;
+                }
+
+                boolean alreadyApplied = exists(conn, NamedQuery.APPLICATION_EXISTS, application.username(),
+                        application.jobId());
+
+                int rowsAffected = update(conn, NamedQuery.UPSERT_APPLICATION, application.jobId(),
+                        application.username(), application.fullName(), application.age(),
+                        application.contactNumber(), application.email(), application.educationSkills());
+
+                // Editing an existing application does not change the count
+                if (rowsAffected > 0 && !alreadyApplied) {
+                    update(conn, NamedQuery.ADJUST_APPLICATION_COUNT, 1, application.jobId());
+                }
+
+                return rowsAffected > 0;
+            });
+        }
+
+        @Override
+        public boolean delete(int jobId, String username) throws SQLException {
+
+            return inTransaction(conn -> {
+                exists(conn, NamedQuery.LOCK_JOB_POST, jobId);
+
+                if (update(conn, NamedQuery.DELETE_APPLICATION, jobId, username) == 0) {
+                    return false;
+                }
+
+                update(conn, NamedQuery.ADJUST_APPLICATION_COUNT, -1, jobId);
+                return true;
+            });
+        }
+    }
+}
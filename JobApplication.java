@@ -0,0 +1,14 @@
+import java.time.LocalDateTime;
+
+/**
+ *
+ * One row of job_applications. A user has at most one application per job.
+ *
+ * applicationDate is assigned by the storage engine and is null on
+ * applications that have not been saved yet.
+ *
+ */
+
+public record JobApplication(int jobId, String username, String fullName, int age, String contactNumber,
+        String email, String educationSkills, LocalDateTime applicationDate) {
+}
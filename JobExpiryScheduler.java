@@ -0,0 +1,186 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ *
+ * Tells in-memory holders of job posts (the page cache, the search index, the
+ * job list on screen) when posts pass their deadline, so they can drop them
+ * without rescanning anything.
+ *
+ * Holders {@link #track} the posts they keep. Deadlines sit in a min-heap, and
+ * one timer sleeps until the earliest of them ends at local midnight; when it
+ * fires, every post now past its deadline is popped and handed to the
+ * listeners in one batch, and the timer is set for the new earliest deadline.
+ * The timer never sleeps longer than MAX_SLEEP, so a suspended laptop or a
+ * clock change is noticed within that time.
+ *
+ * Thread-safe. Listeners run on the scheduler's own thread.
+ *
+ */
+
+public final class JobExpiryScheduler implements AutoCloseable {
+
+    private static final Duration MAX_SLEEP = Duration.ofHours(1);
+
+    private record Deadline(LocalDate date, int jobId) {
+    }
+
+    private final Clock clock;
+
+    private final ScheduledExecutorService timer;
+
+    private final List<Consumer<IntHashSet>> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this. A post's deadline never changes, so each tracked id has at
+    // most one live heap entry; entries of untracked ids are skipped when popped.
+    private final PriorityQueue<Deadline> heap = new PriorityQueue<>(Comparator.comparing(Deadline::date));
+
+    private final IntHashSet tracked = new IntHashSet();
+
+    private ScheduledFuture<?> wakeUp;
+
+    private long expired;
+
+    public JobExpiryScheduler() {
+
+        this(Clock.systemDefaultZone());
+    }
+
+    JobExpiryScheduler(Clock clock) {
+
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gjms-job-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void addListener(Consumer<IntHashSet> listener) {
+
+        listeners.add(listener);
+    }
+
+    public LocalDate today() {
+
+        return LocalDate.now(clock);
+    }
+
+    /**
+     *
+     * Starts watching post's deadline.
+     *
+     * @return false if the post has already expired, in which case it is not
+     *         tracked and the caller should not show it.
+     *
+     */
+
+    public boolean track(JobPost post) {
+
+        if (post.deadlineDate() == null) {
+            return true;
+        }
+        if (post.isExpired(today())) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (tracked.add(post.id())) {
+                heap.add(new Deadline(post.deadlineDate(), post.id()));
+                if (heap.peek().jobId() == post.id()) {
+                    rescheduleLocked(); // New earliest deadline
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * Stops watching a deleted post. Its heap entry is discarded when it comes up.
+     *
+     */
+
+    public synchronized void untrack(int jobId) {
+
+        if (tracked.remove(jobId) && heap.size() > 2 * tracked.size() + 1_024) {
+            heap.removeIf(deadline -> !tracked.contains(deadline.jobId())); // Mostly deleted posts by now
+        }
+    }
+
+    private void rescheduleLocked() {
+
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+
+        Deadline next = heap.peek();
+        if (next == null) {
+            return;
+        }
+
+        ZonedDateTime expiresAt = next.date().plusDays(1).atStartOfDay(clock.getZone());
+        long delayMillis = Math.max(0, Duration.between(ZonedDateTime.now(clock), expiresAt).toMillis());
+        wakeUp = timer.schedule(this::expireDue, Math.min(delayMillis, MAX_SLEEP.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void expireDue() {
+
+        IntHashSet due = new IntHashSet();
+
+        synchronized (this) {
+            LocalDate today = today();
+            while (!heap.isEmpty() && heap.peek().date().isBefore(today)) {
+                int jobId = heap.poll().jobId();
+                if (tracked.remove(jobId)) {
+                    due.add(jobId);
+                }
+            }
+            expired += due.size();
+            rescheduleLocked();
+        }
+
+        if (due.isEmpty()) {
+            return;
+        }
+        for (Consumer<IntHashSet> listener : listeners) {
+            try {
+                listener.accept(due);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // One listener failing must not stop the others
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+
+        timer.shutdownNow();
+    }
+
+    /**
+     *
+     * Summary line for statistics output.
+     *
+     */
+
+    @Override
+    public synchronized String toString() {
+
+        Deadline next = heap.peek();
+        return "tracked=" + tracked.size() + ", expired=" + expired + ", nextDeadline="
+                + (next == null ? "none" : next.date());
+    }
+}
@@ -0,0 +1,228 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *
+ * Location and employer filters for the job list, with the number of posts
+ * behind every value.
+ *
+ * Each value owns an {@link IntBitmap} of the ids of the posts carrying it,
+ * updated as posts are indexed or removed, so neither a filter nor its counts
+ * go back to the database. Values compare ignoring case and surrounding
+ * spaces; the spelling first seen is the one shown.
+ *
+ * Selected values of one facet are alternatives (Manila or Cebu); facets
+ * combine (Manila or Cebu, and Acme). A facet's counts apply the selection of
+ * the other facet but not its own, so the user always sees what choosing
+ * another value of the same facet would add. Under a narrow filter the counts
+ * are tallied from the few posts passing it instead of intersecting every
+ * value's bitmap with it.
+ *
+ * Not thread-safe; {@link JobSearchIndex} guards it with its lock.
+ *
+ */
+
+public final class JobFacets {
+
+    public enum Facet {
+        LOCATION, EMPLOYER
+    }
+
+    /**
+     *
+     * A value and the number of posts that carry it under the current filter.
+     *
+     */
+
+    public record Count(String value, int count) {
+    }
+
+    /**
+     *
+     * Selected values per facet; an empty set leaves that facet unfiltered.
+     *
+     */
+
+    public record Selection(Set<String> locations, Set<String> employers) {
+
+        public static final Selection NONE = new Selection(Set.of(), Set.of());
+
+        public boolean isEmpty() {
+
+            return locations.isEmpty() && employers.isEmpty();
+        }
+
+        Set<String> of(Facet facet) {
+
+            return facet == Facet.LOCATION ? locations : employers;
+        }
+    }
+
+    private record Value(String label, IntBitmap postIds) {
+    }
+
+    private final Map<Facet, Map<String, Value>> values = new EnumMap<>(Facet.class);
+
+    private final Map<Facet, IntObjectHashMap<Value>> valueOfPost = new EnumMap<>(Facet.class);
+
+    private int posts;
+
+    public JobFacets() {
+
+        for (Facet facet : Facet.values()) {
+            values.put(facet, new HashMap<>());
+            valueOfPost.put(facet, new IntObjectHashMap<>());
+        }
+    }
+
+    void add(JobPost post) {
+
+        posts++;
+        add(Facet.LOCATION, post.jobLocation(), post.id());
+        add(Facet.EMPLOYER, post.employerName(), post.id());
+    }
+
+    void remove(JobPost post) {
+
+        posts--;
+        remove(Facet.LOCATION, post.jobLocation(), post.id());
+        remove(Facet.EMPLOYER, post.employerName(), post.id());
+    }
+
+    /**
+     *
+     * The ids of the posts passing selection, or null when nothing is selected
+     * and every post passes.
+     *
+     */
+
+    IntBitmap matching(Selection selection) {
+
+        IntBitmap matching = null;
+        for (Facet facet : Facet.values()) {
+            IntBitmap facetMatches = anyOf(facet, selection.of(facet));
+            if (facetMatches != null) {
+                matching = matching == null ? facetMatches : matching.and(facetMatches);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     *
+     * Every value of facet that some post passing the other facets' selection
+     * carries, plus the facet's own selected values, largest count first.
+     *
+     */
+
+    List<Count> counts(Facet facet, Selection selection) {
+
+        IntBitmap others = null;
+        for (Facet other : Facet.values()) {
+            if (other != facet) {
+                IntBitmap otherMatches = anyOf(other, selection.of(other));
+                if (otherMatches != null) {
+                    others = others == null ? otherMatches : others.and(otherMatches);
+                }
+            }
+        }
+
+        Set<String> selected = selection.of(facet);
+        List<Count> counts = new ArrayList<>();
+
+        if (others != null && others.cardinality() * 8 < posts) {
+            // Few posts pass: tally their values rather than intersect every value
+            IntObjectHashMap<Value> byPost = valueOfPost.get(facet);
+            Map<Value, int[]> tally = new IdentityHashMap<>();
+            others.forEach(id -> {
+                Value value = byPost.get(id);
+                if (value != null) {
+                    tally.computeIfAbsent(value, v -> new int[1])[0]++;
+                }
+            });
+            tally.forEach((value, count) -> counts.add(new Count(value.label(), count[0])));
+            for (String label : selected) {
+                Value value = values.get(facet).get(key(label));
+                if (value != null && !tally.containsKey(value)) {
+                    counts.add(new Count(value.label(), 0));
+                }
+            }
+        } else {
+            for (Value value : values.get(facet).values()) {
+                int count = others == null ? value.postIds().cardinality() : value.postIds().andCardinality(others);
+                if (count > 0 || selected.contains(value.label())) {
+                    counts.add(new Count(value.label(), count));
+                }
+            }
+        }
+
+        counts.sort((a, b) -> a.count() != b.count()
+                ? Integer.compare(b.count(), a.count())
+                : a.value().compareToIgnoreCase(b.value()));
+        return counts;
+    }
+
+    private IntBitmap anyOf(Facet facet, Set<String> labels) {
+
+        if (labels.isEmpty()) {
+            return null;
+        }
+
+        IntBitmap any = new IntBitmap();
+        for (String label : labels) {
+            Value value = values.get(facet).get(key(label));
+            if (value != null) {
+                any = any.or(value.postIds());
+            }
+        }
+        return any;
+    }
+
+    private void add(Facet facet, String label, int postId) {
+
+        if (label == null || label.isBlank()) {
+            return;
+        }
+        Value value = values.get(facet).computeIfAbsent(key(label), k -> new Value(label.trim(), new IntBitmap()));
+        value.postIds().add(postId);
+        valueOfPost.get(facet).put(postId, value);
+    }
+
+    private void remove(Facet facet, String label, int postId) {
+
+        if (label == null || label.isBlank()) {
+            return;
+        }
+
+        valueOfPost.get(facet).remove(postId);
+
+        String key = key(label);
+        Value value = values.get(facet).get(key);
+        if (value != null && value.postIds().remove(postId) && value.postIds().isEmpty()) {
+            values.get(facet).remove(key);
+        }
+    }
+
+    private static String key(String label) {
+
+        return label.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     *
+     * Summary line for statistics output.
+     *
+     */
+
+    @Override
+    public String toString() {
+
+        return "locations=" + values.get(Facet.LOCATION).size() + ", employers=" + values.get(Facet.EMPLOYER).size();
+    }
+}
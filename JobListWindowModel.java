@@ -0,0 +1,435 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ *
+ * Table model for scrolling through every open job post without reading them
+ * all first.
+ *
+ * The list is split into windows of windowSize rows in list order, each
+ * fetched on its own with {@link JobPostRepository#findPage} from the keyset
+ * cursor where the previous window ended. The table starts with one window of
+ * placeholder rows, so it paints at once whatever the number of posts; the
+ * viewport reports what is visible through {@link #ensureVisible}, and the
+ * windows around it are loaded in the background while their rows read
+ * "Loading...". A window that comes back full makes room for the next one, so
+ * the scroll bar grows as the user scrolls.
+ *
+ * At most maxResident windows keep their rows; the least recently seen one
+ * outside the viewport is dropped and fetched again if the user scrolls back.
+ * A refetched window covers the same stretch of the list order as before,
+ * from its start cursor up to and including the post it first ended on, in as
+ * many requests as that takes; windows never overlap, and posts created
+ * inside that stretch since are inserted into it. Posts that sort after the
+ * last window show up when the list is reopened.
+ *
+ * Only to be used on the Event Dispatch Thread; the loader must call back on
+ * it too.
+ *
+ */
+
+public final class JobListWindowModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     *
+     * Fetches up to limit posts after a cursor (null = from the top) and hands
+     * them, or the failure, back on the Event Dispatch Thread.
+     *
+     */
+
+    @FunctionalInterface
+    public interface Loader {
+
+        void load(JobPostCursor after, int limit, Consumer<List<JobPost>> onLoaded, Consumer<Exception> onFailure);
+    }
+
+    private static final class Window {
+
+        final JobPostCursor start; // Cursor of the last post of the previous window; null for the first
+
+        int size; // windowSize until first loaded
+
+        boolean sized;
+
+        ColumnarTableModel rows; // null while not resident
+
+        List<JobPost> refetched; // Collected so far while a refetch takes several requests
+
+        boolean loading;
+
+        boolean failed;
+
+        long lastSeen;
+
+        Window(JobPostCursor start, int size) {
+
+            this.start = start;
+            this.size = size;
+        }
+    }
+
+    private final List<ColumnarTableModel.Column<JobPost>> columns;
+
+    private final ColumnarTableModel shape; // Answers column names and editability
+
+    private final int windowSize;
+
+    private final int maxResident;
+
+    private final Loader loader;
+
+    private final String emptyMessage;
+
+    private final List<Window> windows = new ArrayList<>();
+
+    private int[] offsets; // offsets[k] = first row of window k; the last entry is the row count
+
+    private int resident;
+
+    private long seen;
+
+    private int visibleFirst;
+
+    private int visibleLast = -1;
+
+    public JobListWindowModel(List<ColumnarTableModel.Column<JobPost>> columns, int windowSize, int maxResident,
+            Loader loader, String emptyMessage) {
+
+        this.columns = columns;
+        this.shape = ColumnarTableModel.of(List.of(), columns, null);
+        this.windowSize = windowSize;
+        this.maxResident = Math.max(2, maxResident);
+        this.loader = loader;
+        this.emptyMessage = emptyMessage;
+
+        windows.add(new Window(null, windowSize));
+        reoffset();
+    }
+
+    // =========================================================================================
+
+    // TABLEMODEL
+
+    // =========================================================================================
+
+    @Override
+    public int getRowCount() {
+
+        return isEmpty() ? 1 : total();
+    }
+
+    @Override
+    public int getColumnCount() {
+
+        return shape.getColumnCount();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+
+        return shape.getColumnName(column);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+
+        return shape.isCellEditable(row, column);
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+
+        if (isEmpty()) {
+            return placeholder(column, emptyMessage);
+        }
+
+        int k = windowAt(row);
+        Window window = windows.get(k);
+        if (window.rows == null) {
+            return placeholder(column, window.failed ? "Could not load these posts; scroll to retry." : "Loading...");
+        }
+        return window.rows.getValueAt(row - offsets[k], column);
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+
+        // Read-only; the button editor's label is not data
+    }
+
+    private static Object placeholder(int column, String message) {
+
+        return column == 0 ? Integer.valueOf(-1) : column == 1 ? message : null;
+    }
+
+    // =========================================================================================
+
+    // WINDOWS
+
+    // =========================================================================================
+
+    /**
+     *
+     * Called as the viewport moves: loads the windows covering the visible
+     * rows plus half a window either side, and marks them recently seen.
+     *
+     */
+
+    public void ensureVisible(int firstRow, int lastRow) {
+
+        int total = total();
+        if (total == 0) {
+            request(0);
+            return;
+        }
+
+        visibleFirst = Math.max(0, Math.min(firstRow, total - 1));
+        visibleLast = Math.max(visibleFirst, Math.min(lastRow, total - 1));
+
+        int from = windowAt(Math.max(0, visibleFirst - windowSize / 2));
+        int to = windowAt(Math.min(total - 1, visibleLast + windowSize / 2));
+        seen++;
+        for (int k = from; k <= to; k++) {
+            windows.get(k).lastSeen = seen;
+            request(k);
+        }
+    }
+
+    /**
+     *
+     * Removes the posts in ids from the resident windows (used when they
+     * expire). Windows not resident leave them out when next fetched.
+     *
+     */
+
+    public void removeRows(IntHashSet ids) {
+
+        for (Window window : windows) {
+            if (window.rows != null) {
+                window.rows.removeRows(ids); // Forwarded as row deletions by the window's listener
+            }
+        }
+    }
+
+    /**
+     *
+     * True once the last window has been loaded, so the row count is exact.
+     *
+     */
+
+    public boolean isComplete() {
+
+        return windows.get(windows.size() - 1).sized;
+    }
+
+    private void request(int k) {
+
+        Window window = windows.get(k);
+        if (window.rows != null || window.loading) {
+            return;
+        }
+
+        window.loading = true;
+        load(k, window.start);
+    }
+
+    private void load(int k, JobPostCursor after) {
+
+        Window window = windows.get(k);
+        loader.load(after, windowSize + 1, posts -> loaded(k, posts), e -> {
+            window.loading = false;
+            window.failed = true;
+            window.refetched = null;
+            fireWindowUpdated(k);
+        });
+    }
+
+    private void loaded(int k, List<JobPost> posts) {
+
+        Window window = windows.get(k);
+        boolean last = k == windows.size() - 1;
+        List<JobPost> kept = posts.size() > windowSize ? posts.subList(0, windowSize) : posts;
+
+        if (!last) {
+            // A refetch: everything up to and including the post the window first ended on
+            JobPostCursor end = windows.get(k + 1).start;
+            int cut = 0;
+            while (cut < posts.size() && JobPostCursor.LIST_ORDER.compare(JobPostCursor.of(posts.get(cut)), end) <= 0) {
+                cut++;
+            }
+            if (window.refetched == null) {
+                window.refetched = new ArrayList<>();
+            }
+            window.refetched.addAll(posts.subList(0, cut));
+
+            if (cut == posts.size() && posts.size() > windowSize) {
+                load(k, JobPostCursor.of(posts.get(cut - 1))); // Posts were added in range; not there yet
+                return;
+            }
+            kept = window.refetched;
+            window.refetched = null;
+        }
+
+        window.loading = false;
+        window.failed = false;
+        boolean more = last && posts.size() > windowSize;
+
+        boolean wasEmptyList = isEmpty();
+        ColumnarTableModel rows = ColumnarTableModel.of(kept, columns, null);
+        rows.addTableModelListener(e -> rowsRemoved(window, e));
+        window.rows = rows;
+        resident++;
+        resize(k, kept.size());
+        window.sized = true;
+
+        if (isEmpty() || wasEmptyList) {
+            fireTableDataChanged();
+        } else {
+            fireWindowUpdated(k);
+        }
+
+        if (more) {
+            int first = total();
+            windows.add(new Window(JobPostCursor.of(kept.get(kept.size() - 1)), windowSize));
+            reoffset();
+            fireTableRowsInserted(first, total() - 1);
+        }
+
+        evict(k);
+    }
+
+    /**
+     *
+     * Drops the rows of the least recently seen windows beyond maxResident,
+     * never the one just loaded or one in view.
+     *
+     */
+
+    private void evict(int justLoaded) {
+
+        while (resident > maxResident) {
+            int victim = -1;
+            for (int k = 0; k < windows.size(); k++) {
+                Window window = windows.get(k);
+                if (window.rows != null && k != justLoaded && !inView(k)
+                        && (victim < 0 || window.lastSeen < windows.get(victim).lastSeen)) {
+                    victim = k;
+                }
+            }
+            if (victim < 0) {
+                return; // Everything resident is on screen
+            }
+            windows.get(victim).rows = null;
+            resident--;
+        }
+    }
+
+    private boolean inView(int k) {
+
+        return offsets[k] <= visibleLast && offsets[k + 1] > visibleFirst;
+    }
+
+    /**
+     *
+     * Turns deletions inside a window's own model into deletions of the
+     * matching rows of the whole list.
+     *
+     */
+
+    private void rowsRemoved(Window window, TableModelEvent e) {
+
+        if (e.getType() != TableModelEvent.DELETE || e.getSource() != window.rows) {
+            return;
+        }
+
+        int k = windows.indexOf(window);
+        int removed = e.getLastRow() - e.getFirstRow() + 1;
+        int first = offsets[k] + e.getFirstRow();
+        window.size -= removed;
+        reoffset();
+        if (isEmpty()) {
+            fireTableDataChanged();
+        } else {
+            fireTableRowsDeleted(first, first + removed - 1);
+        }
+    }
+
+    /**
+     *
+     * Sets the row count of window k and fires the matching insertion or
+     * deletion at its end.
+     *
+     */
+
+    private void resize(int k, int size) {
+
+        int before = windows.get(k).size;
+        windows.get(k).size = size;
+        reoffset();
+
+        int end = offsets[k] + Math.min(before, size);
+        if (size < before && !isEmpty()) {
+            fireTableRowsDeleted(end, end + before - size - 1);
+        } else if (size > before) {
+            fireTableRowsInserted(end, end + size - before - 1);
+        }
+    }
+
+    private void fireWindowUpdated(int k) {
+
+        if (offsets[k + 1] > offsets[k]) {
+            fireTableRowsUpdated(offsets[k], offsets[k + 1] - 1);
+        }
+    }
+
+    private void reoffset() {
+
+        offsets = new int[windows.size() + 1];
+        for (int k = 0; k < windows.size(); k++) {
+            offsets[k + 1] = offsets[k] + windows.get(k).size;
+        }
+    }
+
+    /**
+     *
+     * The window holding row: the last one starting at or before it.
+     *
+     */
+
+    private int windowAt(int row) {
+
+        int low = 0;
+        int high = windows.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= row) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int total() {
+
+        return offsets[windows.size()];
+    }
+
+    /**
+     *
+     * True if the list turned out to have no posts; the table then shows the
+     * empty message in a single row.
+     *
+     */
+
+    public boolean isEmpty() {
+
+        return total() == 0 && isComplete();
+    }
+}
@@ -0,0 +1,122 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ *
+ * One row of job_posts.
+ *
+ * id, postingDate and applicationCount are assigned by the storage engine;
+ * drafts passed to {@link JobPostRepository#create} leave them as 0/null.
+ *
+ * postingDeadline is the deadline as shown; deadlineDate is the same day as a
+ * date, or null for older posts whose free-text deadline could not be read.
+ * A post is open through its deadline day and expired from the day after.
+ *
+ */
+
+public record JobPost(int id, String jobTitle, String jobDescription, String employerName, String skillsRequired,
+        String jobLocation, String contactNumber, String postingDeadline, LocalDate deadlineDate,
+        LocalDate postingDate, String creatorUsername, int applicationCount) {
+
+    // Spellings accepted for deadlines; the first is the one new posts are stored in
+    private static final List<DateTimeFormatter> DEADLINE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/uuuu", Locale.ROOT),
+            deadlineFormat("MMMM d, uuuu"),
+            deadlineFormat("MMM d, uuuu"),
+            deadlineFormat("d MMMM uuuu"),
+            deadlineFormat("d MMM uuuu"));
+
+    /**
+     *
+     * List reads ({@link JobPostRepository#findPage}, findByCreator and
+     * findChangedSince) may cut jobDescription and skillsRequired to this many
+     * characters; {@link JobPostRepository#findDetails} returns the full text.
+     *
+     */
+
+    public static final int PREVIEW_LENGTH = 120;
+
+    /**
+     *
+     * Creates an unsaved job post as entered on the Create Job screen, with the
+     * deadline already parsed (see {@link #parseDeadline}).
+     *
+     */
+
+    public static JobPost draft(String jobTitle, String jobDescription, String employerName, String skillsRequired,
+            String jobLocation, String contactNumber, LocalDate deadline, String creatorUsername) {
+
+        return new JobPost(0, jobTitle, jobDescription, employerName, skillsRequired, jobLocation, contactNumber,
+                deadline.toString(), deadline, null, creatorUsername, 0);
+    }
+
+    /**
+     *
+     * Reads a deadline as users type it: 2026-12-31, 12/31/2026, December 31,
+     * 2026, Dec 31, 2026 or 31 December 2026 (month names in English, any case).
+     *
+     */
+
+    public static Optional<LocalDate> parseDeadline(String text) {
+
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+
+        String trimmed = text.trim();
+        for (DateTimeFormatter format : DEADLINE_FORMATS) {
+            try {
+                return Optional.of(LocalDate.parse(trimmed, format));
+            } catch (DateTimeParseException e) {
+                // Try the next spelling
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static DateTimeFormatter deadlineFormat(String pattern) {
+
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(Locale.ENGLISH);
+    }
+
+    public boolean isExpired(LocalDate today) {
+
+        return deadlineDate != null && deadlineDate.isBefore(today);
+    }
+
+    public JobPost withId(int newId, LocalDate newPostingDate) {
+
+        return new JobPost(newId, jobTitle, jobDescription, employerName, skillsRequired, jobLocation,
+                contactNumber, postingDeadline, deadlineDate, newPostingDate, creatorUsername, applicationCount);
+    }
+
+    /**
+     *
+     * This post as a list read returns it, with the long text cut to
+     * PREVIEW_LENGTH characters.
+     *
+     */
+
+    public JobPost summary() {
+
+        return new JobPost(id, jobTitle, preview(jobDescription), employerName, preview(skillsRequired), jobLocation,
+                contactNumber, postingDeadline, deadlineDate, postingDate, creatorUsername, applicationCount);
+    }
+
+    private static String preview(String text) {
+
+        return text == null || text.length() <= PREVIEW_LENGTH ? text : text.substring(0, PREVIEW_LENGTH);
+    }
+
+    public JobPost withApplicationCount(int newCount) {
+
+        return new JobPost(id, jobTitle, jobDescription, employerName, skillsRequired, jobLocation, contactNumber,
+                postingDeadline, deadlineDate, postingDate, creatorUsername, newCount);
+    }
+}
@@ -0,0 +1,22 @@
+import java.util.List;
+
+/**
+ *
+ * What happened to job posts after a change mark; see
+ * {@link JobPostRepository#findChangedSince}.
+ *
+ * changed holds posts created (or edited) since the mark, deleted the list
+ * positions of posts removed since. A post both created and deleted in that
+ * window may appear in both; apply deletions last. When complete is false the
+ * engine no longer remembers every deletion since the mark and the caller has
+ * to reload from scratch.
+ *
+ */
+
+public record JobPostChanges(List<JobPost> changed, List<JobPostCursor> deleted, long mark, boolean complete) {
+
+    public static JobPostChanges incomplete(long mark) {
+
+        return new JobPostChanges(List.of(), List.of(), mark, false);
+    }
+}
@@ -0,0 +1,22 @@
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ *
+ * Position of a job post in the job list order: newest posting date first,
+ * ties broken by the higher id. Used as a keyset (seek) bookmark, so a page
+ * is fetched by position rather than by row offset.
+ *
+ */
+
+public record JobPostCursor(LocalDate postingDate, int id) {
+
+    public static final Comparator<JobPostCursor> LIST_ORDER = Comparator
+            .comparing(JobPostCursor::postingDate, Comparator.reverseOrder())
+            .thenComparing(Comparator.comparingInt(JobPostCursor::id).reversed());
+
+    public static JobPostCursor of(JobPost post) {
+
+        return new JobPostCursor(post.postingDate(), post.id());
+    }
+}
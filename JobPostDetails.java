@@ -0,0 +1,9 @@
+/**
+ *
+ * The long free-text columns of a job post, which list reads only return as
+ * previews.
+ *
+ */
+
+public record JobPostDetails(int jobId, String jobDescription, String skillsRequired) {
+}
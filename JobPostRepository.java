@@ -0,0 +1,92 @@
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ *
+ * Access to job posts.
+ *
+ */
+
+public interface JobPostRepository {
+
+    List<JobPost> findAll() throws SQLException;
+
+    List<JobPost> findByCreator(String creatorUsername) throws SQLException;
+
+    /**
+     *
+     * Returns up to limit posts in {@link JobPostCursor#LIST_ORDER} that come
+     * after the given position, or from the top if after is null. The cost
+     * depends on limit, not on how far into the list the page is. Long text
+     * may be cut to previews (see {@link JobPost#PREVIEW_LENGTH}).
+     *
+     */
+
+    List<JobPost> findPage(JobPostCursor after, int limit) throws SQLException;
+
+    /**
+     *
+     * Returns up to limit posts with an id above afterId, in id order and with
+     * their full text, for bulk readers such as {@link JobSearchIndex}.
+     *
+     */
+
+    List<JobPost> findBatchAfterId(int afterId, int limit) throws SQLException;
+
+    /**
+     *
+     * Returns an opaque mark to pass to {@link #findChangedSince}. Take it
+     * before reading the data it is meant to keep current.
+     *
+     */
+
+    long changeMark() throws SQLException;
+
+    /**
+     *
+     * Returns the full description and skills of one post.
+     *
+     */
+
+    Optional<JobPostDetails> findDetails(int jobId) throws SQLException;
+
+    /**
+     *
+     * Returns the full description and skills of many posts in a few round
+     * trips, keyed by id. Posts that no longer exist are left out.
+     *
+     */
+
+    IntObjectHashMap<JobPostDetails> findDetails(IntHashSet jobIds) throws SQLException;
+
+    /**
+     *
+     * Returns the posts created and deleted after mark, with a new mark to use
+     * next time. The cost depends on how much changed, not on how many posts
+     * exist. Application count updates are not reported as changes.
+     *
+     */
+
+    JobPostChanges findChangedSince(long mark) throws SQLException;
+
+    /**
+     *
+     * Saves a draft created with {@link JobPost#draft}.
+     *
+     * @return the saved post with its id and posting date filled in.
+     *
+     */
+
+    JobPost create(JobPost draft) throws SQLException;
+
+    /**
+     *
+     * Deletes a post and its applications, but only if creatorUsername owns it.
+     *
+     * @return false if no such post exists for that creator.
+     *
+     */
+
+    boolean delete(int jobId, String creatorUsername) throws SQLException;
+}
@@ -0,0 +1,732 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ *
+ * In-memory inverted index over job post title, description, skills,
+ * employer and location, for the search box on the job list.
+ *
+ * Each term maps to the posts containing it, as an array sorted by list
+ * position (posting date, then id, packed into one long). A query matches
+ * posts that contain every term; the last term also matches as a prefix, so
+ * results follow the user as they type. Candidates are walked newest first
+ * from the rarest term and probed against the others by binary search, and
+ * the walk stops once a page of matches is found, so a query costs about a
+ * page's worth of probes however many posts match.
+ *
+ * The index is built once from {@link JobPostRepository#findBatchAfterId},
+ * updated directly for writes made by this process, and catches up with other
+ * instances through {@link JobPostRepository#findChangedSince}. Only summaries
+ * (see {@link JobPost#summary}) are kept for display; the full text is read
+ * just long enough to be tokenized. Each post remembers the posting lists it
+ * was added to, so removing it touches only those lists.
+ *
+ * The index also keeps every post in list order and the location and
+ * employer {@link JobFacets}, so the list can be filtered and counted without
+ * queries; a search honours the same filters.
+ *
+ * The required skills of every indexed post are also fed to a
+ * {@link SkillMatcher}, which {@link #bestMatches} ranks against an
+ * applicant's profile.
+ *
+ * Posts past their deadline are left out; a {@link JobExpiryScheduler} tracks
+ * the indexed ones and removes each batch as it expires.
+ *
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ *
+ */
+
+public final class JobSearchIndex {
+
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    /**
+     *
+     * One page of matches in list order; more is true if further matches exist.
+     *
+     */
+
+    public record Result(List<JobPost> posts, boolean more) {
+    }
+
+    /**
+     *
+     * The first page of the posts passing a filter, how many pass in total, and
+     * the counts to show next to each facet value.
+     *
+     */
+
+    public record Filtered(List<JobPost> posts, int total, List<JobFacets.Count> locations,
+            List<JobFacets.Count> employers) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Term -> ids of the posts containing it; sorted so the last term can match by prefix.
+    // This and the other per-post structures are replaced wholesale when the index has to be rebuilt.
+    private TreeMap<String, Postings> postings = new TreeMap<>();
+
+    private IntObjectHashMap<JobPost> summaries = new IntObjectHashMap<>();
+
+    private IntObjectHashMap<Postings[]> termLists = new IntObjectHashMap<>(); // Post id -> lists holding it
+
+    private Postings all = new Postings(null); // Every post, for filtering without a search term
+
+    private JobFacets facets = new JobFacets();
+
+    private volatile boolean ready;
+
+    // Guarded by the write lock
+    private long changeMark;
+
+    private volatile long lastRefreshNanos;
+
+    // Kept across rebuilds so its dictionary and cached rankings survive
+    private final SkillMatcher skills;
+
+    private final JobExpiryScheduler expiry;
+
+    public JobSearchIndex(JobExpiryScheduler expiry) {
+
+        this(new SkillMatcher(), expiry);
+        expiry.addListener(this::removeAll);
+    }
+
+    private JobSearchIndex(SkillMatcher skills, JobExpiryScheduler expiry) {
+
+        this.skills = skills;
+        this.expiry = expiry;
+    }
+
+    /**
+     *
+     * Loads every post, BUILD_BATCH_SIZE at a time so the full text of only one
+     * batch is held at once.
+     *
+     */
+
+    public void build(JobPostRepository repository) throws SQLException {
+
+        long mark = repository.changeMark(); // Before reading, so nothing written meanwhile is missed
+        int lastId = 0;
+
+        while (true) {
+            List<JobPost> batch = repository.findBatchAfterId(lastId, BUILD_BATCH_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                for (JobPost post : batch) {
+                    addLocked(post);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            if (batch.size() < BUILD_BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).id();
+        }
+
+        lock.writeLock().lock();
+        try {
+            changeMark = mark;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRefreshNanos = System.nanoTime();
+        ready = true;
+    }
+
+    public boolean isReady() {
+
+        return ready;
+    }
+
+    public boolean isOlderThan(long maxAgeMillis) {
+
+        return ready && System.nanoTime() - lastRefreshNanos >= TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    /**
+     *
+     * Applies what other instances changed since the last build or refresh.
+     * Changed rows arrive as previews, so their full text is read again, a
+     * batch of posts per query.
+     *
+     */
+
+    public void refresh(JobPostRepository repository) throws SQLException {
+
+        long mark;
+        lock.readLock().lock();
+        try {
+            mark = changeMark;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        JobPostChanges changes = repository.findChangedSince(mark);
+
+        if (!changes.complete()) {
+            JobSearchIndex rebuilt = new JobSearchIndex(skills.emptyCopy(), expiry);
+            rebuilt.build(repository);
+            lock.writeLock().lock();
+            try {
+                postings = rebuilt.postings;
+                summaries = rebuilt.summaries;
+                termLists = rebuilt.termLists;
+                all = rebuilt.all;
+                facets = rebuilt.facets;
+                skills.replaceJobs(rebuilt.skills);
+                changeMark = rebuilt.changeMark;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastRefreshNanos = System.nanoTime();
+            return;
+        }
+
+        IntHashSet changedIds = new IntHashSet();
+        for (JobPost summary : changes.changed()) {
+            changedIds.add(summary.id());
+        }
+        IntObjectHashMap<JobPostDetails> found = repository.findDetails(changedIds); // One read per batch, not per post
+
+        List<JobPost> changed = new ArrayList<>(changes.changed().size());
+        for (JobPost summary : changes.changed()) {
+            JobPostDetails details = found.get(summary.id());
+            if (details != null) { // Deleted since the change was read
+                changed.add(new JobPost(summary.id(), summary.jobTitle(), details.jobDescription(),
+                        summary.employerName(), details.skillsRequired(), summary.jobLocation(),
+                        summary.contactNumber(), summary.postingDeadline(), summary.deadlineDate(),
+                        summary.postingDate(), summary.creatorUsername(), summary.applicationCount()));
+            }
+        }
+
+        IntHashSet deleted = new IntHashSet();
+        for (JobPostCursor position : changes.deleted()) {
+            deleted.add(position.id());
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (JobPost post : changed) {
+                addLocked(post);
+            }
+            removeAllLocked(deleted);
+            changeMark = changes.mark();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRefreshNanos = System.nanoTime();
+    }
+
+    /**
+     *
+     * Indexes a post with its full text. Adding a post that is already indexed
+     * replaces its entry.
+     *
+     */
+
+    public void add(JobPost post) {
+
+        lock.writeLock().lock();
+        try {
+            addLocked(post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int jobId) {
+
+        IntHashSet ids = new IntHashSet();
+        ids.add(jobId);
+        removeAll(ids);
+    }
+
+    private void removeAll(IntHashSet ids) {
+
+        lock.writeLock().lock();
+        try {
+            removeAllLocked(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     *
+     * Drops every post created by username, as an account purge does.
+     *
+     */
+
+    public void removeCreator(String username) {
+
+        lock.writeLock().lock();
+        try {
+            IntHashSet ids = new IntHashSet();
+            summaries.forEach((id, post) -> {
+                if (post.creatorUsername().equalsIgnoreCase(username)) {
+                    ids.add(id);
+                }
+            });
+            removeAllLocked(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     *
+     * Returns the first limit posts, in {@link JobPostCursor#LIST_ORDER},
+     * that match every term of query and pass selection.
+     *
+     */
+
+    public Result search(String query, JobFacets.Selection selection, int limit) {
+
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new Result(List.of(), false);
+        }
+
+        lock.readLock().lock();
+        try {
+            IntBitmap filter = facets.matching(selection);
+
+            // All but the last term must match exactly
+            List<Postings> exact = new ArrayList<>();
+            for (String term : terms.subList(0, terms.size() - 1)) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return new Result(List.of(), false);
+                }
+                exact.add(list);
+            }
+
+            List<Postings> lastAlternatives = new ArrayList<>(prefixRange(terms.get(terms.size() - 1)).values());
+            if (lastAlternatives.isEmpty()) {
+                return new Result(List.of(), false);
+            }
+
+            // One extra match tells whether there are more
+            long[] matches = exact.isEmpty()
+                    ? newestInUnion(lastAlternatives, filter, limit + 1)
+                    : newestInIntersection(exact, lastAlternatives, filter, limit + 1);
+
+            List<JobPost> page = new ArrayList<>(Math.min(matches.length, limit));
+            for (int i = 0; i < matches.length && i < limit; i++) {
+                page.add(summaries.get(idOf(matches[i])));
+            }
+            return new Result(page, matches.length > limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     *
+     * Returns the first limit posts, in list order, that pass selection, with
+     * the facet counts under it. Walks the list newest first and stops at a
+     * page, like {@link #search}; the total comes from the bitmaps.
+     *
+     */
+
+    public Filtered filter(JobFacets.Selection selection, int limit) {
+
+        lock.readLock().lock();
+        try {
+            IntBitmap filter = facets.matching(selection);
+
+            List<JobPost> page = new ArrayList<>();
+            for (int i = all.size - 1; i >= 0 && page.size() < limit; i--) {
+                int id = idOf(all.keys[i]);
+                if (filter == null || filter.contains(id)) {
+                    page.add(summaries.get(id));
+                }
+            }
+
+            return new Filtered(page, filter == null ? summaries.size() : filter.cardinality(),
+                    facets.counts(JobFacets.Facet.LOCATION, selection),
+                    facets.counts(JobFacets.Facet.EMPLOYER, selection));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     *
+     * Returns up to limit posts whose required skills best overlap profile
+     * (free text such as an applicant's education and skills), best first.
+     *
+     */
+
+    public List<JobPost> bestMatches(String profile, int limit) {
+
+        List<SkillMatcher.Match> matches = skills.rank(profile, limit);
+
+        lock.readLock().lock();
+        try {
+            List<JobPost> posts = new ArrayList<>(matches.size());
+            for (SkillMatcher.Match match : matches) {
+                JobPost post = summaries.get(match.jobId());
+                if (post != null) { // Removed since the ranking was cached
+                    posts.add(post);
+                }
+            }
+            return posts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================================================================================
+
+    // INDEX MAINTENANCE
+
+    // =========================================================================================
+
+    private void addLocked(JobPost post) {
+
+        IntHashSet id = new IntHashSet();
+        id.add(post.id());
+
+        if (!expiry.track(post)) {
+            removeAllLocked(id); // If it was indexed, it has been edited to a past deadline
+            return;
+        }
+
+        unindexLocked(id); // A refresh may bring back a post already indexed; start it afresh
+
+        summaries.put(post.id(), post.summary());
+        skills.put(post.id(), post.skillsRequired());
+
+        long key = listKey(post);
+        facets.add(post);
+        all.add(key);
+
+        Set<String> terms = termsOf(post);
+        Postings[] lists = new Postings[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            lists[i] = postings.computeIfAbsent(term, Postings::new);
+            lists[i++].add(key);
+        }
+        termLists.put(post.id(), lists);
+    }
+
+    /**
+     *
+     * Takes the posts out of the index and stops watching their deadlines.
+     *
+     */
+
+    private void removeAllLocked(IntHashSet ids) {
+
+        ids.forEach(expiry::untrack);
+        unindexLocked(ids);
+    }
+
+    /**
+     *
+     * Takes the posts out of the index. Only the posting lists they were added
+     * to are touched, each once however many of the posts it holds.
+     *
+     */
+
+    private void unindexLocked(IntHashSet ids) {
+
+        long[] keys = new long[ids.size()];
+        int count = 0;
+        Set<Postings> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int id : ids.toArray()) {
+            JobPost removed = summaries.remove(id);
+            if (removed == null) {
+                continue;
+            }
+            facets.remove(removed);
+            keys[count++] = listKey(removed);
+            Collections.addAll(touched, termLists.remove(id));
+        }
+        if (count == 0) {
+            return;
+        }
+
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+
+        all.removeAll(keys, ids);
+        skills.removeAll(ids);
+        for (Postings list : touched) {
+            if (list.removeAll(keys, ids) == 0) {
+                postings.remove(list.term);
+            }
+        }
+    }
+
+    private static Set<String> termsOf(JobPost post) {
+
+        Set<String> terms = new HashSet<>();
+        for (String field : new String[] { post.jobTitle(), post.jobDescription(), post.skillsRequired(),
+                post.employerName(), post.jobLocation() }) {
+            terms.addAll(tokenize(field));
+        }
+        return terms;
+    }
+
+    /**
+     *
+     * Lower-cased runs of letters and digits.
+     *
+     */
+
+    static List<String> tokenize(String text) {
+
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private SortedMap<String, Postings> prefixRange(String prefix) {
+
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    // =========================================================================================
+
+    // POSTING LISTS
+
+    // =========================================================================================
+
+    /**
+     *
+     * A post's list position as one long: larger means earlier in the job list.
+     *
+     */
+
+    private static long listKey(JobPost post) {
+
+        long day = post.postingDate() == null ? 0 : post.postingDate().toEpochDay();
+        return (day << 32) | (post.id() & 0xFFFFFFFFL);
+    }
+
+    private static int idOf(long key) {
+
+        return (int) key;
+    }
+
+    /**
+     *
+     * Walks the rarest exact list from its newest end, keeping posts that are in
+     * every other exact list and in at least one of the last term's lists, and
+     * pass filter if there is one.
+     *
+     */
+
+    private static long[] newestInIntersection(List<Postings> exact, List<Postings> lastAlternatives,
+            IntBitmap filter, int wanted) {
+
+        exact.sort(Comparator.comparingInt(Postings::size));
+        Postings rarest = exact.get(0);
+
+        long[] found = new long[wanted];
+        int count = 0;
+
+        for (int i = rarest.size - 1; i >= 0 && count < wanted; i--) {
+            long key = rarest.keys[i];
+            if ((filter == null || filter.contains(idOf(key))) && containsAll(exact, key)
+                    && containsAny(lastAlternatives, key)) {
+                found[count++] = key;
+            }
+        }
+
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     *
+     * Merges the newest ends of several lists (one per term sharing the typed
+     * prefix), skipping posts that appear under more than one term or fail
+     * filter.
+     *
+     */
+
+    private static long[] newestInUnion(List<Postings> lists, IntBitmap filter, int wanted) {
+
+        // Each entry is {list index, position}, ordered by the key at that position, newest first
+        PriorityQueue<int[]> heads = new PriorityQueue<>(lists.size(),
+                (a, b) -> Long.compare(lists.get(b[0]).keys[b[1]], lists.get(a[0]).keys[a[1]]));
+        for (int i = 0; i < lists.size(); i++) {
+            if (lists.get(i).size > 0) {
+                heads.add(new int[] { i, lists.get(i).size - 1 });
+            }
+        }
+
+        long[] found = new long[wanted];
+        int count = 0;
+
+        while (count < wanted && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            long key = lists.get(head[0]).keys[head[1]];
+            if ((count == 0 || found[count - 1] != key) && (filter == null || filter.contains(idOf(key)))) {
+                found[count++] = key;
+            }
+            if (--head[1] >= 0) {
+                heads.add(head);
+            }
+        }
+
+        return Arrays.copyOf(found, count);
+    }
+
+    private static boolean containsAll(List<Postings> lists, long key) {
+
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAny(List<Postings> lists, long key) {
+
+        for (Postings list : lists) {
+            if (list.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *
+     * List keys of the posts containing one term, ascending. New posts sort
+     * last, which makes the common insert an append.
+     *
+     */
+
+    private static final class Postings {
+
+        final String term; // null for the list of every post
+
+        long[] keys = new long[4];
+
+        int size;
+
+        Postings(String term) {
+
+            this.term = term;
+        }
+
+        int size() {
+
+            return size;
+        }
+
+        boolean contains(long key) {
+
+            return Arrays.binarySearch(keys, 0, size, key) >= 0;
+        }
+
+        void add(long key) {
+
+            int at = size > 0 && keys[size - 1] < key ? size : Arrays.binarySearch(keys, 0, size, key);
+            if (at < 0) {
+                at = -at - 1;
+            } else if (at < size) {
+                return; // Already present
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size + (size >> 1) + 1);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            keys[at] = key;
+            size++;
+        }
+
+        /**
+         *
+         * Removes the posts of ids, whose keys are sortedKeys: a few by binary
+         * search, many in one pass.
+         *
+         * @return the number of keys left.
+         *
+         */
+
+        int removeAll(long[] sortedKeys, IntHashSet ids) {
+
+            if (sortedKeys.length <= 8) {
+                for (long key : sortedKeys) {
+                    int at = Arrays.binarySearch(keys, 0, size, key);
+                    if (at >= 0) {
+                        System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+                        size--;
+                    }
+                }
+                return size;
+            }
+
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!ids.contains(idOf(keys[i]))) {
+                    keys[kept++] = keys[i];
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+
+    /**
+     *
+     * Summary line for statistics output.
+     *
+     */
+
+    @Override
+    public String toString() {
+
+        lock.readLock().lock();
+        try {
+            long entries = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                entries += entry.getValue().size;
+            }
+            return "posts=" + summaries.size() + ", terms=" + postings.size() + ", postings=" + entries + ", "
+                    + facets + ", " + skills;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
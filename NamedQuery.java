@@ -0,0 +1,191 @@
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * Registry of every SQL statement GJMS issues.
+ *
+ * Keeping the text in one place means each statement string is identical on
+ * every call, which is what lets the pool's per-connection statement cache
+ * reuse the prepared (and, with useServerPrepStmts, server-parsed) statement.
+ *
+ * The text here is the MySQL form; {@link SqlDialect#sql} substitutes the
+ * few statements another database spells differently.
+ *
+ */
+
+public enum NamedQuery {
+
+    // --- Users ---
+
+    INSERT_USER("INSERT INTO users (username, password_hash) VALUES (?, ?)"),
+
+    FIND_USER("SELECT username, password_hash FROM users WHERE username = ?"),
+
+    DELETE_USER("DELETE FROM users WHERE username = ?"),
+
+    // --- Job posts ---
+
+    LIST_JOB_POSTS("SELECT id, job_title, job_description, employer_name, skills_required, job_location, "
+            + "contact_number, posting_deadline, deadline_date, posting_date, creator_username, application_count "
+            + "FROM job_posts"),
+
+    LIST_CREATED_JOBS(NamedQuery.SELECT_JOB_POST_SUMMARIES + "WHERE creator_username = ?"),
+
+    // Keyset pages of open posts in newest-first order. The position predicate is
+    // spelled out with OR because MySQL only uses an index range for the expanded
+    // form, not for a (posting_date, id) < (?, ?) row comparison. deadline_date is
+    // the listing index's third column, so expired posts are skipped in the index
+    // before any row is read. The first parameter is today's date.
+
+    LIST_JOB_POSTS_FIRST_PAGE(NamedQuery.SELECT_JOB_POST_SUMMARIES
+            + "WHERE (deadline_date IS NULL OR deadline_date >= ?) "
+            + "ORDER BY posting_date DESC, id DESC LIMIT ?"),
+
+    LIST_JOB_POSTS_PAGE_AFTER(NamedQuery.SELECT_JOB_POST_SUMMARIES
+            + "WHERE (deadline_date IS NULL OR deadline_date >= ?) "
+            + "AND (posting_date < ? OR (posting_date = ? AND id < ?)) "
+            + "ORDER BY posting_date DESC, id DESC LIMIT ?"),
+
+    LIST_JOB_POSTS_BY_ID_AFTER("SELECT id, job_title, job_description, employer_name, skills_required, "
+            + "job_location, contact_number, posting_deadline, deadline_date, posting_date, creator_username, "
+            + "application_count FROM job_posts WHERE id > ? ORDER BY id LIMIT ?"),
+
+    FIND_JOB_POST_DETAILS("SELECT job_description, skills_required FROM job_posts WHERE id = ?"),
+
+    // Up to DETAILS_BATCH_SIZE posts per round trip, padded like LOCK_JOB_POSTS
+    FIND_JOB_POST_DETAILS_BATCH("SELECT id, job_description, skills_required FROM job_posts WHERE id IN ("
+            + placeholders(NamedQuery.DETAILS_BATCH_SIZE) + ")"),
+
+    // Delta refresh: posts whose listed content changed, and tombstones of deleted
+    // posts, since a timestamp (see JobPostRepository#findChangedSince)
+
+    CURRENT_CHANGE_TIME("SELECT CURRENT_TIMESTAMP(3)"),
+
+    LIST_JOB_POSTS_CHANGED_SINCE(NamedQuery.SELECT_JOB_POST_SUMMARIES + "WHERE updated_at >= ?"),
+
+    LIST_JOB_POST_TOMBSTONES_SINCE("SELECT job_id, posting_date FROM job_post_tombstones WHERE deleted_at >= ?"),
+
+    TOMBSTONE_JOB_POST("INSERT INTO job_post_tombstones (job_id, posting_date, deleted_at) "
+            + "SELECT id, posting_date, CURRENT_TIMESTAMP(3) FROM job_posts WHERE id = ? AND creator_username = ?"),
+
+    TOMBSTONE_JOB_POSTS_BY_CREATOR("INSERT INTO job_post_tombstones (job_id, posting_date, deleted_at) "
+            + "SELECT id, posting_date, CURRENT_TIMESTAMP(3) FROM job_posts WHERE creator_username = ?"),
+
+    PRUNE_JOB_POST_TOMBSTONES("DELETE FROM job_post_tombstones WHERE deleted_at < ?"),
+
+    INSERT_JOB_POST("INSERT INTO job_posts (job_title, job_description, employer_name, skills_required, "
+            + "job_location, contact_number, posting_deadline, deadline_date, posting_date, creator_username) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+
+    LOCK_JOB_POST("SELECT id FROM job_posts WHERE id = ? FOR UPDATE"),
+
+    // Locks up to LOCK_BATCH_SIZE posts in ascending id order; callers pad a short
+    // chunk by repeating its last id so the statement text never changes
+    LOCK_JOB_POSTS("SELECT id FROM job_posts WHERE id IN (" + placeholders(NamedQuery.LOCK_BATCH_SIZE)
+            + ") ORDER BY id FOR UPDATE"),
+
+    JOB_POST_IDS_BY_CREATOR("SELECT id FROM job_posts WHERE creator_username = ?"),
+
+    ADJUST_APPLICATION_COUNT("UPDATE job_posts SET application_count = application_count + ? WHERE id = ?"),
+
+    DECREMENT_COUNTS_FOR_APPLICANT("UPDATE job_posts SET application_count = application_count - 1 "
+            + "WHERE id IN (SELECT job_id FROM job_applications WHERE username = ?)"),
+
+    DELETE_JOB_POST("DELETE FROM job_posts WHERE id = ? AND creator_username = ?"),
+
+    DELETE_JOB_POSTS_BY_CREATOR("DELETE FROM job_posts WHERE creator_username = ?"),
+
+    RECOUNT_APPLICATIONS("UPDATE job_posts SET application_count = "
+            + "(SELECT COUNT(*) FROM job_applications ja WHERE ja.job_id = job_posts.id) WHERE id = ?"),
+
+    JOB_POST_ID_RANGE("SELECT MIN(id), MAX(id) FROM job_posts"),
+
+    REPAIR_APPLICATION_COUNTS("UPDATE job_posts SET application_count = "
+            + "(SELECT COUNT(*) FROM job_applications ja WHERE ja.job_id = job_posts.id) "
+            + "WHERE id BETWEEN ? AND ? AND application_count <> "
+            + "(SELECT COUNT(*) FROM job_applications ja WHERE ja.job_id = job_posts.id)"),
+
+    // --- Job applications ---
+
+    APPLIED_JOB_IDS("SELECT job_id FROM job_applications WHERE username = ?"),
+
+    APPLICATION_EXISTS("SELECT 1 FROM job_applications WHERE username = ? AND job_id = ?"),
+
+    FIND_APPLICATION("SELECT full_name, age, contact_number, email, education_skills, application_date "
+            + "FROM job_applications WHERE username = ? AND job_id = ?"),
+
+    UPSERT_APPLICATION("REPLACE INTO job_applications (job_id, username, full_name, age, contact_number, email, "
+            + "education_skills) VALUES (?, ?, ?, ?, ?, ?, ?)"),
+
+    LIST_APPLICANTS("SELECT username, full_name, age, contact_number, email, education_skills, application_date "
+            + "FROM job_applications WHERE job_id = ?"),
+
+    LIST_APPLIED_JOBS("SELECT ja.job_id, jp.job_title, jp.employer_name, ja.application_date, ja.full_name, "
+            + "ja.age, ja.contact_number, ja.email, ja.education_skills FROM job_applications ja "
+            + "JOIN job_posts jp ON ja.job_id = jp.id WHERE ja.username = ?"),
+
+    DELETE_APPLICATION("DELETE FROM job_applications WHERE job_id = ? AND username = ?"),
+
+    DELETE_APPLICATIONS_BY_USER("DELETE FROM job_applications WHERE username = ?");
+
+    public static final int LOCK_BATCH_SIZE = 64;
+
+    public static final int DETAILS_BATCH_SIZE = 64;
+
+    // List reads cut the long text columns to previews in the database, so a page
+    // carries a few hundred bytes per post however long the descriptions are
+    private static final String SELECT_JOB_POST_SUMMARIES = "SELECT id, job_title, "
+            + "SUBSTRING(job_description, 1, " + JobPost.PREVIEW_LENGTH + ") AS job_description, employer_name, "
+            + "SUBSTRING(skills_required, 1, " + JobPost.PREVIEW_LENGTH + ") AS skills_required, job_location, "
+            + "contact_number, posting_deadline, deadline_date, posting_date, creator_username, application_count "
+            + "FROM job_posts ";
+
+    private final String sql;
+
+    NamedQuery(String sql) {
+
+        this.sql = sql;
+    }
+
+    public String sql() {
+
+        return sql;
+    }
+
+    private static String placeholders(int count) {
+
+        return "?, ".repeat(count - 1) + "?";
+    }
+
+    /**
+     *
+     * Prepares every registered statement once so that a typo or a missing column
+     * shows up at startup rather than the first time a user clicks a button.
+     *
+     * @return one message per statement that failed to prepare; empty if all are valid.
+     *
+     */
+
+    public static List<String> validateAll(DataSource dataSource, SqlDialect dialect) throws SQLException {
+
+        List<String> problems = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection()) {
+
+            for (NamedQuery query : values()) {
+                try {
+                    // Preparing is enough: server-side prepares parse and resolve every name
+                    conn.prepareStatement(dialect.sql(query)).close();
+                } catch (SQLException e) {
+                    problems.add(query.name() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        return problems;
+    }
+}
@@ -0,0 +1,333 @@
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ *
+ * Brings a database up to the schema GJMS expects.
+ *
+ * Structural changes are numbered migrations recorded in schema_version, so
+ * each runs once per database. Indexes are different: they are checked on
+ * every start and any that are missing are created, since a DBA dropping
+ * one should not silently turn a lookup back into a full scan.
+ *
+ * MySQL stores table names as written while H2 upper-cases unquoted
+ * identifiers, so metadata lookups use whatever case the database uses.
+ *
+ */
+
+public final class SchemaInitializer {
+
+    @FunctionalInterface
+    private interface Step {
+
+        void apply(Connection conn, SqlDialect dialect) throws SQLException;
+    }
+
+    private record Migration(int version, String description, Step step) {
+    }
+
+    /**
+     *
+     * An index one or more NamedQuery lookups depend on. It counts as present
+     * when any existing index (including a primary key) starts with these
+     * columns in this order.
+     *
+     */
+
+    private record IndexSpec(String table, String name, String... columns) {
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "base tables", SchemaInitializer::createTables),
+            new Migration(2, "job_posts.application_count", SchemaInitializer::addApplicationCount),
+            new Migration(3, "job_posts.updated_at and job_post_tombstones", SchemaInitializer::addChangeTracking),
+            new Migration(4, "job_posts.deadline_date", SchemaInitializer::addDeadlineDate));
+
+    private static final List<IndexSpec> INDEXES = List.of(
+            // FIND_USER, INSERT_USER duplicate check; normally the primary key
+            new IndexSpec("users", "idx_users_username", "username"),
+            // LIST_APPLICANTS, REPAIR_APPLICATION_COUNTS, the ON DELETE CASCADE; normally the primary key
+            new IndexSpec("job_applications", "idx_job_applications_job", "job_id"),
+            // APPLIED_JOB_IDS (index-only), APPLICATION_EXISTS, LIST_APPLIED_JOBS,
+            // DECREMENT_COUNTS_FOR_APPLICANT, DELETE_APPLICATIONS_BY_USER
+            new IndexSpec("job_applications", "idx_job_applications_user_job", "username", "job_id"),
+            // LIST_CREATED_JOBS, DELETE_JOB_POSTS_BY_CREATOR
+            new IndexSpec("job_posts", "idx_job_posts_creator", "creator_username", "id"),
+            // LIST_JOB_POSTS_FIRST_PAGE, LIST_JOB_POSTS_PAGE_AFTER (scanned backwards; expired
+            // posts are filtered on the third column without reading their rows)
+            new IndexSpec("job_posts", "idx_job_posts_open_listing", "posting_date", "id", "deadline_date"),
+            // LIST_JOB_POSTS_CHANGED_SINCE
+            new IndexSpec("job_posts", "idx_job_posts_updated", "updated_at"),
+            // LIST_JOB_POST_TOMBSTONES_SINCE, PRUNE_JOB_POST_TOMBSTONES
+            new IndexSpec("job_post_tombstones", "idx_job_post_tombstones_deleted", "deleted_at"));
+
+    private SchemaInitializer() {
+    }
+
+    /**
+     *
+     * Applies pending migrations and creates missing indexes. Safe to call on
+     * every start, including from several instances at once.
+     *
+     */
+
+    public static void migrate(Connection conn, SqlDialect dialect) throws SQLException {
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT NOT NULL PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        int current = currentVersion(conn);
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() > current) {
+                apply(conn, dialect, migration);
+            }
+        }
+
+        for (IndexSpec index : INDEXES) {
+            if (!hasIndex(conn, index)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("CREATE INDEX " + index.name() + " ON " + index.table()
+                            + " (" + String.join(", ", index.columns()) + ")");
+                }
+                System.err.println("[gjms] Created index " + index.name() + ".");
+            }
+        }
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1); // 0 when empty
+        }
+    }
+
+    /**
+     *
+     * Runs one migration and records it in the same transaction. MySQL commits
+     * DDL implicitly, so every step is written to be safely re-runnable.
+     *
+     */
+
+    private static void apply(Connection conn, SqlDialect dialect, Migration migration) throws SQLException {
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+
+        try {
+            migration.step().apply(conn, dialect);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                pstmt.setInt(1, migration.version());
+                pstmt.setString(2, migration.description());
+                pstmt.executeUpdate();
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            // Another instance recorded this version first; its step matched ours
+            if (!dialect.isUniqueViolation(e)) {
+                throw e;
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // =========================================================================================
+
+    // MIGRATIONS
+
+    // =========================================================================================
+
+    private static void createTables(Connection conn, SqlDialect dialect) throws SQLException {
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String ddl : dialect.createTables()) {
+                stmt.executeUpdate(ddl);
+            }
+        }
+    }
+
+    /**
+     *
+     * Schemas created before the counter existed get the column and an initial
+     * count; the reconciler keeps it correct afterwards.
+     *
+     */
+
+    private static void addApplicationCount(Connection conn, SqlDialect dialect) throws SQLException {
+
+        if (hasColumn(conn, "job_posts", "application_count")) {
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE job_posts ADD COLUMN application_count INT NOT NULL DEFAULT 0");
+            stmt.executeUpdate("UPDATE job_posts SET application_count = "
+                    + "(SELECT COUNT(*) FROM job_applications ja WHERE ja.job_id = job_posts.id)");
+        }
+    }
+
+    /**
+     *
+     * updated_at records when a post's listed content last changed (existing
+     * rows get the migration time) and is deliberately not bumped by
+     * application count updates. Deleted posts leave a tombstone carrying their
+     * list position, so a delta refresh can drop them.
+     *
+     */
+
+    private static void addChangeTracking(Connection conn, SqlDialect dialect) throws SQLException {
+
+        try (Statement stmt = conn.createStatement()) {
+            if (!hasColumn(conn, "job_posts", "updated_at")) {
+                stmt.executeUpdate("ALTER TABLE job_posts ADD COLUMN updated_at TIMESTAMP(3) NOT NULL "
+                        + "DEFAULT CURRENT_TIMESTAMP(3)");
+            }
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS job_post_tombstones ("
+                    + "job_id INT NOT NULL PRIMARY KEY, "
+                    + "posting_date DATE NOT NULL, "
+                    + "deleted_at TIMESTAMP(3) NOT NULL)");
+        }
+    }
+
+    /**
+     *
+     * Deadlines used to be free text only. The parsed date goes in a column of
+     * its own so the listing can leave out expired posts; text no format
+     * recognizes stays NULL and never expires. The listing index is rebuilt with
+     * the column at its end, which replaces the old (posting_date, id) one.
+     *
+     */
+
+    private static void addDeadlineDate(Connection conn, SqlDialect dialect) throws SQLException {
+
+        try (Statement stmt = conn.createStatement()) {
+            if (!hasColumn(conn, "job_posts", "deadline_date")) {
+                stmt.executeUpdate("ALTER TABLE job_posts ADD COLUMN deadline_date DATE NULL");
+            }
+            if (hasIndexNamed(conn, "job_posts", "idx_job_posts_listing")) {
+                stmt.executeUpdate(dialect.dropIndex("job_posts", "idx_job_posts_listing"));
+            }
+        }
+
+        try (Statement select = conn.createStatement();
+                ResultSet rs = select.executeQuery(
+                        "SELECT id, posting_deadline FROM job_posts WHERE deadline_date IS NULL");
+                PreparedStatement update = conn.prepareStatement(
+                        "UPDATE job_posts SET deadline_date = ? WHERE id = ?")) {
+            int batched = 0;
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                Optional<LocalDate> deadline = JobPost.parseDeadline(rs.getString(2));
+                if (deadline.isPresent()) {
+                    update.setDate(1, java.sql.Date.valueOf(deadline.get()));
+                    update.setInt(2, id);
+                    update.addBatch();
+                    if (++batched % 500 == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    // =========================================================================================
+
+    // METADATA HELPERS
+
+    // =========================================================================================
+
+    private static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+
+        DatabaseMetaData meta = conn.getMetaData();
+
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, identifier(meta, table),
+                identifier(meta, column))) {
+            return rs.next();
+        }
+    }
+
+    private static boolean hasIndex(Connection conn, IndexSpec spec) throws SQLException {
+
+        DatabaseMetaData meta = conn.getMetaData();
+
+        // index name -> columns by ordinal position
+        Map<String, TreeMap<Short, String>> indexes = new TreeMap<>();
+
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, identifier(meta, spec.table()), false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name != null && column != null) {
+                    indexes.computeIfAbsent(name, k -> new TreeMap<>()).put(rs.getShort("ORDINAL_POSITION"), column);
+                }
+            }
+        }
+
+        for (TreeMap<Short, String> columns : indexes.values()) {
+            List<String> leading = new ArrayList<>(columns.values());
+            if (leading.size() >= spec.columns().length && startsWith(leading, spec.columns())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean hasIndexNamed(Connection conn, String table, String index) throws SQLException {
+
+        DatabaseMetaData meta = conn.getMetaData();
+
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, identifier(meta, table), false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(List<String> columns, String[] prefix) {
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (!columns.get(i).equalsIgnoreCase(prefix[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String identifier(DatabaseMetaData meta, String name) throws SQLException {
+
+        if (meta.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        if (meta.storesLowerCaseIdentifiers()) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        return name;
+    }
+}
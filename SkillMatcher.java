@@ -0,0 +1,387 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ *
+ * Ranks job posts by how well their required skills overlap an applicant's
+ * education and skills.
+ *
+ * Skills are normalized words: lower-cased, a few common spellings folded
+ * together, filler words ("and", "experience", "years") dropped. A dictionary
+ * numbers each skill the first time it is seen, and every post is kept as a
+ * compact bitset over those numbers: only the 64-bit words that have a bit
+ * set, with their positions, so a post naming five skills costs a few longs
+ * however large the dictionary grows. Similarity is Jaccard,
+ * |A and B| / |A or B|, where the intersection is a popcount of the words both
+ * sets share and the union follows from the two cardinalities.
+ *
+ * A ranking scores every post in parallel on the common fork/join pool, and
+ * is cached per profile until a post is added or removed.
+ *
+ * Thread-safe.
+ *
+ */
+
+public final class SkillMatcher {
+
+    private static final int RANKING_CACHE_SIZE = 16;
+
+    private static final Set<String> FILLER = Set.of("a", "an", "and", "or", "the", "of", "in", "on", "with",
+            "to", "for", "at", "by", "as", "is", "are", "be", "etc", "skill", "skills", "experience",
+            "experienced", "knowledge", "year", "years", "yrs", "good", "strong", "basic", "advanced",
+            "proficient", "proficiency", "ability", "must", "have", "has", "know", "level");
+
+    private static final Map<String, String> ALIASES = Map.of("js", "javascript", "ts", "typescript",
+            "golang", "go", "postgres", "postgresql", "k8s", "kubernetes", "reactjs", "react", "nodejs", "node");
+
+    /**
+     *
+     * A post and its similarity to the profile, between 0 (exclusive) and 1.
+     *
+     */
+
+    public record Match(int jobId, double score) {
+    }
+
+    private record Ranking(long version, List<Match> matches) {
+    }
+
+    private final Dictionary dictionary;
+
+    // Guarded by this; version counts changes so cached rankings can tell they are stale
+    private IntObjectHashMap<SkillSet> jobs = new IntObjectHashMap<>();
+
+    private long version;
+
+    // Guarded by itself
+    private final LinkedHashMap<String, Ranking> rankings = new LinkedHashMap<>(RANKING_CACHE_SIZE, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Ranking> eldest) {
+
+            return size() > RANKING_CACHE_SIZE;
+        }
+    };
+
+    private long rankingHits;
+
+    private long rankingMisses;
+
+    public SkillMatcher() {
+
+        this(new Dictionary());
+    }
+
+    private SkillMatcher(Dictionary dictionary) {
+
+        this.dictionary = dictionary;
+    }
+
+    /**
+     *
+     * An empty matcher sharing this one's dictionary, to be filled and then
+     * taken over with {@link #replaceJobs}.
+     *
+     */
+
+    SkillMatcher emptyCopy() {
+
+        return new SkillMatcher(dictionary);
+    }
+
+    // =========================================================================================
+
+    // POSTS
+
+    // =========================================================================================
+
+    public void put(int jobId, String skillsRequired) {
+
+        SkillSet skills = encode(skillsRequired);
+
+        synchronized (this) {
+            jobs.put(jobId, skills);
+            version++;
+        }
+    }
+
+    public synchronized void removeAll(IntHashSet jobIds) {
+
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        jobIds.forEach(jobs::remove);
+        version++;
+    }
+
+    /**
+     *
+     * Takes over the posts of other, which must come from {@link #emptyCopy}.
+     *
+     */
+
+    synchronized void replaceJobs(SkillMatcher other) {
+
+        synchronized (other) {
+            jobs = other.jobs;
+            other.jobs = new IntObjectHashMap<>();
+        }
+        version++;
+    }
+
+    // =========================================================================================
+
+    // RANKING
+
+    // =========================================================================================
+
+    /**
+     *
+     * Returns up to limit posts sharing at least one skill with profile, best
+     * first; equal scores list the newer post (higher id) first.
+     *
+     */
+
+    public List<Match> rank(String profile, int limit) {
+
+        SkillSet wanted = encode(profile);
+        if (wanted.cardinality == 0 || limit <= 0) {
+            return List.of();
+        }
+        String key = wanted.key() + "/" + limit;
+
+        int[] ids;
+        SkillSet[] sets;
+        long snapshotVersion;
+
+        synchronized (this) {
+            snapshotVersion = version;
+
+            synchronized (rankings) {
+                Ranking cached = rankings.get(key);
+                if (cached != null && cached.version() == snapshotVersion) {
+                    rankingHits++;
+                    return cached.matches();
+                }
+                rankingMisses++;
+            }
+
+            ids = new int[jobs.size()];
+            sets = new SkillSet[ids.length];
+            int[] next = { 0 };
+            jobs.forEach((id, set) -> {
+                ids[next[0]] = id;
+                sets[next[0]++] = set;
+            });
+        }
+
+        // The posts are immutable once encoded, so scoring needs no lock
+        double[] scores = new double[ids.length];
+        IntStream.range(0, ids.length).parallel().forEach(i -> scores[i] = jaccard(wanted, sets[i]));
+
+        // Keep the best limit in a min-heap whose head is the weakest kept match
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[a], scores[b])
+                : Integer.compare(ids[a], ids[b]));
+        for (int i = 0; i < ids.length; i++) {
+            if (scores[i] > 0 && (best.size() < limit || best.comparator().compare(i, best.peek()) > 0)) {
+                best.add(i);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            int i = best.poll();
+            matches.add(new Match(ids[i], scores[i]));
+        }
+        Collections.reverse(matches);
+        matches = Collections.unmodifiableList(matches);
+
+        synchronized (rankings) {
+            rankings.put(key, new Ranking(snapshotVersion, matches));
+        }
+        return matches;
+    }
+
+    static double jaccard(SkillSet a, SkillSet b) {
+
+        int shared = 0;
+        for (int i = 0, j = 0; i < a.words.length && j < b.words.length;) {
+            if (a.words[i] < b.words[j]) {
+                i++;
+            } else if (a.words[i] > b.words[j]) {
+                j++;
+            } else {
+                shared += Long.bitCount(a.bits[i++] & b.bits[j++]);
+            }
+        }
+
+        int union = a.cardinality + b.cardinality - shared;
+        return union == 0 ? 0 : (double) shared / union;
+    }
+
+    // =========================================================================================
+
+    // ENCODING
+
+    // =========================================================================================
+
+    SkillSet encode(String text) {
+
+        BitSet bits = new BitSet();
+        for (String skill : normalize(text)) {
+            bits.set(dictionary.idOf(skill));
+        }
+        return SkillSet.of(bits);
+    }
+
+    /**
+     *
+     * The skills named in text: lower-cased runs of letters and digits, also
+     * keeping '+' and '#' so that "C++" and "C#" survive, with aliases folded
+     * and filler words and bare numbers dropped.
+     *
+     */
+
+    static List<String> normalize(String text) {
+
+        List<String> skills = new ArrayList<>();
+        if (text == null) {
+            return skills;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean skillChar = Character.isLetterOrDigit(c) || (start >= 0 && (c == '+' || c == '#'));
+            if (skillChar && start < 0) {
+                start = i;
+            } else if (!skillChar && start >= 0) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                word = ALIASES.getOrDefault(word, word);
+                if (!FILLER.contains(word) && !isNumber(word)) {
+                    skills.add(word);
+                }
+                start = -1;
+            }
+        }
+        return skills;
+    }
+
+    private static boolean isNumber(String word) {
+
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * Skill numbers, handed out in first-seen order. Shared by a matcher and
+     * its {@link #emptyCopy} so their bitsets stay comparable.
+     *
+     */
+
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        int idOf(String skill) {
+
+            return ids.computeIfAbsent(skill, s -> nextId.getAndIncrement());
+        }
+
+        int size() {
+
+            return ids.size();
+        }
+    }
+
+    /**
+     *
+     * A bitset keeping only its non-zero 64-bit words. Immutable.
+     *
+     */
+
+    static final class SkillSet {
+
+        final int[] words; // Word positions, ascending
+
+        final long[] bits;
+
+        final int cardinality;
+
+        private SkillSet(int[] words, long[] bits, int cardinality) {
+
+            this.words = words;
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        static SkillSet of(BitSet set) {
+
+            long[] all = set.toLongArray();
+
+            int used = 0;
+            for (long word : all) {
+                if (word != 0) {
+                    used++;
+                }
+            }
+
+            int[] words = new int[used];
+            long[] bits = new long[used];
+            int next = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (all[i] != 0) {
+                    words[next] = i;
+                    bits[next++] = all[i];
+                }
+            }
+            return new SkillSet(words, bits, set.cardinality());
+        }
+
+        String key() {
+
+            return Arrays.toString(words) + Arrays.toString(bits);
+        }
+    }
+
+    /**
+     *
+     * Summary line for statistics output.
+     *
+     */
+
+    @Override
+    public String toString() {
+
+        int posts;
+        synchronized (this) {
+            posts = jobs.size();
+        }
+        synchronized (rankings) {
+            return "skills=" + dictionary.size() + ", posts=" + posts + ", cachedRankings=" + rankings.size()
+                    + ", rankingHits=" + rankingHits + ", rankingMisses=" + rankingMisses;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+
+/**
+ *
+ * The few places where GJMS's SQL differs between the supported databases:
+ * the application upsert, unique-key violation detection and DDL.
+ *
+ * Everything else in {@link NamedQuery} is portable and shared.
+ *
+ */
+
+public enum SqlDialect {
+
+    MYSQL {
+
+        @Override
+        public String sql(NamedQuery query) {
+
+            return query.sql();
+        }
+
+        @Override
+        public boolean isEmbedded() {
+
+            return false;
+        }
+
+        @Override
+        public boolean isUniqueViolation(SQLException e) {
+
+            // 1062 = ER_DUP_ENTRY
+            return e instanceof SQLIntegrityConstraintViolationException || e.getErrorCode() == 1062;
+        }
+
+        @Override
+        public String dropIndex(String table, String index) {
+
+            return "DROP INDEX " + index + " ON " + table;
+        }
+
+        @Override
+        public List<String> createTables() {
+
+            return List.of(
+                    "CREATE TABLE IF NOT EXISTS users ("
+                            + "username VARCHAR(50) NOT NULL PRIMARY KEY, "
+                            + "password_hash VARCHAR(255) NOT NULL)",
+                    "CREATE TABLE IF NOT EXISTS job_posts ("
+                            + "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                            + "job_title VARCHAR(255) NOT NULL, "
+                            + "job_description TEXT NOT NULL, "
+                            + "employer_name VARCHAR(255) NOT NULL, "
+                            + "skills_required TEXT NOT NULL, "
+                            + "job_location VARCHAR(255) NOT NULL, "
+                            + "contact_number VARCHAR(50) NOT NULL, "
+                            + "posting_deadline VARCHAR(50) NOT NULL, "
+                            + "deadline_date DATE NULL, "
+                            + "posting_date DATE NOT NULL DEFAULT (CURRENT_DATE), "
+                            + "creator_username VARCHAR(50) NOT NULL, "
+                            + "application_count INT NOT NULL DEFAULT 0)",
+                    "CREATE TABLE IF NOT EXISTS job_applications ("
+                            + "job_id INT NOT NULL, "
+                            + "username VARCHAR(" + USERNAME_LENGTH + ") NOT NULL, "
+                            + "full_name VARCHAR(" + FULL_NAME_LENGTH + ") NOT NULL, "
+                            + "age INT NOT NULL, "
+                            + "contact_number VARCHAR(" + CONTACT_NUMBER_LENGTH + ") NOT NULL, "
+                            + "email VARCHAR(" + EMAIL_LENGTH + ") NOT NULL, "
+                            + "education_skills TEXT NOT NULL, "
+                            + "application_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                            + "PRIMARY KEY (job_id, username), "
+                            + "FOREIGN KEY (job_id) REFERENCES job_posts (id) ON DELETE CASCADE)");
+        }
+    },
+
+    /**
+     *
+     * Embedded, file-based H2. Connections are opened with IGNORECASE=TRUE so
+     * usernames compare case-insensitively as under the default MySQL collation.
+     *
+     */
+
+    H2 {
+
+        @Override
+        public String sql(NamedQuery query) {
+
+            if (query == NamedQuery.UPSERT_APPLICATION) {
+                // MERGE ... KEY replaces the existing row like MySQL's REPLACE INTO;
+                // the explicit timestamp matches REPLACE re-inserting with the default.
+                return "MERGE INTO job_applications (job_id, username, full_name, age, contact_number, email, "
+                        + "education_skills, application_date) KEY (job_id, username) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+            }
+
+            return query.sql();
+        }
+
+        @Override
+        public boolean isEmbedded() {
+
+            return true;
+        }
+
+        @Override
+        public boolean isUniqueViolation(SQLException e) {
+
+            // 23505 = unique index or primary key violation
+            return "23505".equals(e.getSQLState());
+        }
+
+        @Override
+        public String dropIndex(String table, String index) {
+
+            return "DROP INDEX IF EXISTS " + index; // H2 index names are unique per schema
+        }
+
+        @Override
+        public List<String> createTables() {
+
+            return List.of(
+                    "CREATE TABLE IF NOT EXISTS users ("
+                            + "username VARCHAR(50) NOT NULL PRIMARY KEY, "
+                            + "password_hash VARCHAR(255) NOT NULL)",
+                    "CREATE TABLE IF NOT EXISTS job_posts ("
+                            + "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                            + "job_title VARCHAR(255) NOT NULL, "
+                            + "job_description VARCHAR NOT NULL, "
+                            + "employer_name VARCHAR(255) NOT NULL, "
+                            + "skills_required VARCHAR NOT NULL, "
+                            + "job_location VARCHAR(255) NOT NULL, "
+                            + "contact_number VARCHAR(50) NOT NULL, "
+                            + "posting_deadline VARCHAR(50) NOT NULL, "
+                            + "deadline_date DATE NULL, "
+                            + "posting_date DATE NOT NULL DEFAULT CURRENT_DATE, "
+                            + "creator_username VARCHAR(50) NOT NULL, "
+                            + "application_count INT NOT NULL DEFAULT 0)",
+                    "CREATE TABLE IF NOT EXISTS job_applications ("
+                            + "job_id INT NOT NULL, "
+                            + "username VARCHAR(" + USERNAME_LENGTH + ") NOT NULL, "
+                            + "full_name VARCHAR(" + FULL_NAME_LENGTH + ") NOT NULL, "
+                            + "age INT NOT NULL, "
+                            + "contact_number VARCHAR(" + CONTACT_NUMBER_LENGTH + ") NOT NULL, "
+                            + "email VARCHAR(" + EMAIL_LENGTH + ") NOT NULL, "
+                            + "education_skills VARCHAR NOT NULL, "
+                            + "application_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                            + "PRIMARY KEY (job_id, username), "
+                            + "FOREIGN KEY (job_id) REFERENCES job_posts (id) ON DELETE CASCADE)");
+        }
+    };
+
+    // Column sizes of job_applications, also checked before an application is queued
+    // (TEXT_BYTES is MySQL's TEXT limit; H2's VARCHAR holds more)
+
+    public static final int USERNAME_LENGTH = 50;
+
+    public static final int FULL_NAME_LENGTH = 255;
+
+    public static final int CONTACT_NUMBER_LENGTH = 50;
+
+    public static final int EMAIL_LENGTH = 255;
+
+    public static final int TEXT_BYTES = 65_535;
+
+    /**
+     *
+     * Returns the text to prepare for query on this database.
+     *
+     */
+
+    public abstract String sql(NamedQuery query);
+
+    /**
+     *
+     * True for in-process databases, where schema work is cheap enough to run
+     * before the window opens.
+     *
+     */
+
+    public abstract boolean isEmbedded();
+
+    /**
+     *
+     * True if e reports a duplicate primary or unique key.
+     *
+     */
+
+    public abstract boolean isUniqueViolation(SQLException e);
+
+    /**
+     *
+     * DDL dropping the named index of table.
+     *
+     */
+
+    public abstract String dropIndex(String table, String index);
+
+    /**
+     *
+     * Idempotent DDL that creates the GJMS tables if they are missing.
+     *
+     */
+
+    public abstract List<String> createTables();
+
+    /**
+     *
+     * Picks the dialect from a JDBC URL (jdbc:h2:... or jdbc:mysql:...).
+     *
+     */
+
+    public static SqlDialect forUrl(String jdbcUrl) {
+
+        return jdbcUrl.startsWith("jdbc:h2:") ? H2 : MYSQL;
+    }
+}
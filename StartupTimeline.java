@@ -0,0 +1,69 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * Milestones of one application start, in milliseconds since the JVM was
+ * launched: entering main, storage started, frame built, frame visible, first
+ * paint and ready for input. With -Dgjms.stats=true the timeline is printed
+ * once the window can take input, so a cold-start regression shows up as a
+ * step that grew.
+ *
+ * The JVM start is the one the runtime MXBean reports, to the millisecond;
+ * the time between marks comes from System.nanoTime.
+ *
+ * Thread-safe: marks come from the main thread and the Event Dispatch Thread.
+ *
+ */
+
+final class StartupTimeline {
+
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    // Milliseconds from JVM start to ORIGIN_NANOS
+    private static final long ORIGIN_UPTIME = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    private record Mark(String name, double millis) {
+    }
+
+    private static final List<Mark> MARKS = new ArrayList<>();
+
+    private StartupTimeline() {
+    }
+
+    /**
+     *
+     * Records that the start reached name now. Only the first mark of each name
+     * counts, so reopened windows do not move the milestones.
+     *
+     */
+
+    static synchronized void mark(String name) {
+
+        for (Mark mark : MARKS) {
+            if (mark.name().equals(name)) {
+                return;
+            }
+        }
+        MARKS.add(new Mark(name, ORIGIN_UPTIME + (System.nanoTime() - ORIGIN_NANOS) / 1e6));
+    }
+
+    /**
+     *
+     * Summary line for statistics output: each milestone with its time since
+     * JVM start and, in brackets, since the one before.
+     *
+     */
+
+    static synchronized String summary() {
+
+        StringBuilder line = new StringBuilder("jvm start");
+        double previous = 0;
+        for (Mark mark : MARKS) {
+            line.append(String.format(" -> %s %.0f ms (+%.0f)", mark.name(), mark.millis(), mark.millis() - previous));
+            previous = mark.millis();
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ *
+ * Storage SPI: the repositories GJMS reads and writes through, plus the
+ * lifecycle of whatever engine backs them.
+ *
+ * Two engines exist: {@link JdbcStorage} (MySQL through the connection pool)
+ * and {@link InMemoryStorage} (single-node, no database). Pick one with
+ * -Dgjms.storage=jdbc|memory. {@link CachingStorage} can wrap either to serve
+ * repeat job list reads from memory.
+ *
+ */
+
+public interface Storage extends AutoCloseable {
+
+    UserRepository users();
+
+    JobPostRepository jobPosts();
+
+    ApplicationRepository applications();
+
+    /**
+     *
+     * Starts background work (schema checks, maintenance jobs). Must not block
+     * on the database; it is called before the window is shown.
+     *
+     */
+
+    default void start() {
+    }
+
+    /**
+     *
+     * One line per engine component, printed on exit with -Dgjms.stats=true.
+     *
+     */
+
+    default String statistics() {
+
+        return "";
+    }
+
+    @Override
+    void close();
+}
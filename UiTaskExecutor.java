@@ -0,0 +1,87 @@
+import javax.swing.SwingUtilities;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ *
+ * Runs data access for the Swing UI on a small bounded pool of worker threads
+ * and hands each result (or failure) back on the Event Dispatch Thread.
+ *
+ * The pool is sized to the connection pool so workers rarely wait for a
+ * connection; the queue is bounded so a stuck database cannot pile up an
+ * unbounded backlog of clicks. A task rejected because the queue is full is
+ * reported to its failure callback like any other error.
+ *
+ */
+
+public final class UiTaskExecutor implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Task<T> {
+
+        T call() throws Exception;
+    }
+
+    private final ThreadPoolExecutor workers;
+
+    public UiTaskExecutor(int threads, int queueCapacity) {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "gjms-ui-worker-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     *
+     * Reads -Dgjms.ui.workers (default 4) and -Dgjms.ui.queue (default 100).
+     *
+     */
+
+    public static UiTaskExecutor fromSystemProperties() {
+
+        return new UiTaskExecutor(Math.max(1, Integer.getInteger("gjms.ui.workers", 4)),
+                Math.max(1, Integer.getInteger("gjms.ui.queue", 100)));
+    }
+
+    /**
+     *
+     * Runs task on a worker, then calls exactly one of onSuccess or onFailure on
+     * the EDT. May be called from any thread.
+     *
+     */
+
+    public <T> void submit(Task<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onFailure) {
+
+        try {
+            workers.execute(() -> {
+                T result;
+                try {
+                    result = task.call();
+                } catch (Exception e) {
+                    SwingUtilities.invokeLater(() -> onFailure.accept(e));
+                    return;
+                }
+                SwingUtilities.invokeLater(() -> onSuccess.accept(result));
+            });
+        } catch (RejectedExecutionException e) {
+            Exception busy = new RejectedExecutionException("Too many requests are waiting; please try again.", e);
+            SwingUtilities.invokeLater(() -> onFailure.accept(busy));
+        }
+    }
+
+    @Override
+    public void close() {
+
+        workers.shutdownNow();
+    }
+}
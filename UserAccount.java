@@ -0,0 +1,9 @@
+/**
+ *
+ * One row of users. username is returned exactly as stored so callers can
+ * enforce case-sensitive logins on case-insensitive databases.
+ *
+ */
+
+public record UserAccount(String username, String passwordHash) {
+}
@@ -0,0 +1,30 @@
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ *
+ * Access to user accounts.
+ *
+ */
+
+public interface UserRepository {
+
+    /**
+     *
+     * @throws java.sql.SQLIntegrityConstraintViolationException if the username is taken.
+     *
+     */
+
+    void create(String username, String passwordHash) throws SQLException;
+
+    Optional<UserAccount> find(String username) throws SQLException;
+
+    /**
+     *
+     * Deletes the account together with every job post it created and every
+     * application it made, keeping application counts exact.
+     *
+     */
+
+    void purge(String username) throws SQLException;
+}